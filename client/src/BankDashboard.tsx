@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from "react";
+import React, { useState, useEffect, useRef } from "react";
 import { useForm } from "react-hook-form";
 import { zodResolver } from "@hookform/resolvers/zod";
 import * as z from "zod";
@@ -7,7 +7,7 @@ import * as z from "zod";
 import BankService from "@/service/bankService";
 
 // Types
-import { Bank } from "@/types/types";
+import { Bank, BankChangeEvent } from "@/types/types";
 
 // Components (Shadcn UI)
 import { Input } from "@/components/ui/input";
@@ -74,6 +74,8 @@ const BankDashboard: React.FC = () => {
   const [activeTab, setActiveTab] = useState<string>("list");
   const [banks, setBanks] = useState<Bank[]>([]);
   const [selectedBank, setSelectedBank] = useState<Bank | null>(null);
+  const pendingChanges = useRef<BankChangeEvent[] | null>(null);
+  const reloadsInFlight = useRef<number>(0);
   const { toast } = useToast();
 
   const createForm = useForm<z.infer<typeof bankSchema>>({
@@ -160,7 +162,6 @@ const BankDashboard: React.FC = () => {
           description: "Bank entity was successfully added with id: " + payload.data.bankId
         });
         createForm.reset();
-        fetchAllBanks();
 
       } else {
         throw new Error("Failed to add bank entity, something went wrong.");
@@ -210,7 +211,6 @@ const BankDashboard: React.FC = () => {
         });
   
         updateForm.reset();
-        fetchAllBanks();
         setSelectedBank(null);
       } else {
         throw new Error(response.data.message || "Failed to update bank entity.");
@@ -243,7 +243,6 @@ const BankDashboard: React.FC = () => {
           duration: 3000,
           description: "Bank entity was successfully deleted 🎉."
         });
-        fetchAllBanks();
         setSelectedBank(null);
 
       } else {
@@ -276,8 +275,69 @@ const BankDashboard: React.FC = () => {
     setActiveTab("update");
   };
 
+  // ANCHOR: const applyBankChange = (change: BankChangeEvent)
+  // NOTE: Writes from this and every other dashboard arrive through the change feed, so the list is patched in
+  //       place instead of being fetched again after each one.
+  const applyBankChange = (change: BankChangeEvent) => {
+    switch (change.type) {
+      case "INSERT":
+        setBanks((current) => [
+          ...current.filter((bank) => bank.bankId !== change.bankId),
+          change.bank as Bank,
+        ]);
+        break;
+
+      case "UPDATE":
+        setBanks((current) => current.map((bank) =>
+          bank.bankId === change.bankId ? { ...bank, ...change.bank } : bank
+        ));
+        break;
+
+      case "DELETE":
+        setBanks((current) => current.filter((bank) => bank.bankId !== change.bankId));
+        break;
+
+      case "BULK":
+        reloadBanks();
+        break;
+    }
+  };
+
+  // ANCHOR: const reloadBanks = async ()
+  // NOTE: Changes that arrive while the banks are being fetched are held back and applied on top of the response,
+  //       otherwise a delta newer than the snapshot would be overwritten by it. Replaying one the snapshot already
+  //       contains is harmless, the changes come in order and the last one for a bank wins. Changes stay held
+  //       until the last of overlapping fetches has answered.
+  const reloadBanks = async () => {
+    reloadsInFlight.current++;
+    pendingChanges.current = pendingChanges.current ?? [];
+
+    try {
+      await fetchAllBanks();
+    } finally {
+      reloadsInFlight.current--;
+    }
+
+    if (reloadsInFlight.current === 0) {
+      const held = pendingChanges.current ?? [];
+      pendingChanges.current = null;
+      held.forEach(applyBankChange);
+    }
+  };
+
+  const onBankChange = (change: BankChangeEvent) => {
+    if (pendingChanges.current !== null) {
+      pendingChanges.current.push(change);
+      return;
+    }
+    applyBankChange(change);
+  };
+
+  // NOTE: The first fetch waits for the feed's sync event, so no change can fall between the subscription and it.
   useEffect(() => {
-    fetchAllBanks();
+    const unsubscribe = BankService.subscribeToChanges(onBankChange, reloadBanks);
+
+    return unsubscribe;
   }, []);
 
   return (
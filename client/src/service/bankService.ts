@@ -1,5 +1,5 @@
 import axios from "axios";
-import { Bank } from "@/types/types";
+import { Bank, BankChangeEvent, BankMultiGet, BankSearchFilters, BankStats } from "@/types/types";
 
 const BASE_URL = "http://127.0.0.1:8080/api/v1/bank";
 
@@ -26,6 +26,41 @@ const bankService = {
         return response.data.payload;
     },
 
+    findBanks: async (bankIds: number[] = [], bankNames: string[] = []): Promise<BankMultiGet> => {
+        const response = await axios.post(`${BASE_URL}/find/many`, { bankIds, bankNames });
+        console.log(response.data.payload);
+
+        return response.data.payload;
+    },
+
+    searchBanks: async (filters: BankSearchFilters) => {
+        const response = await axios.get(`${BASE_URL}/search`, { params: filters });
+        console.log(response.data.payload);
+
+        return response.data.payload;
+    },
+
+    findBankStats: async (top?: number): Promise<BankStats> => {
+        const response = await axios.get(`${BASE_URL}/stats`, { params: { top } });
+        console.log(response.data.payload);
+
+        return response.data.payload;
+    },
+
+    // ANCHOR: CHANGE FEED
+    // NOTE: EventSource reconnects on its own and resumes from the last event id it received. onReload is called
+    //       on sync, once a fresh subscription exists, and on reset, when the server can no longer replay the
+    //       missed changes. Either way the banks have to be fetched now.
+    subscribeToChanges: (onChange: (event: BankChangeEvent) => void, onReload: () => void) => {
+        const source = new EventSource(`${BASE_URL}/changes`);
+
+        source.addEventListener("bank", (message) => onChange(JSON.parse((message as MessageEvent).data)));
+        source.addEventListener("sync", () => onReload());
+        source.addEventListener("reset", () => onReload());
+
+        return () => source.close();
+    },
+
     // ANCHOR: CREATE METHOD(S)
     createBank: async (bank: Bank) => {
         const response = await axios.post(`${BASE_URL}/add`, {
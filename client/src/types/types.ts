@@ -21,6 +21,54 @@ interface Bank {
     modifiedAt?: Date;
 }
 
+interface BankSearchFilters {
+    namePrefix?: string;
+    yearFrom?: string;
+    yearTo?: string;
+    minAtms?: number;
+    maxAtms?: number;
+    minBranches?: number;
+    maxBranches?: number;
+    minEmployees?: number;
+    maxEmployees?: number;
+    page?: number;
+    size?: number;
+    sort?: string;
+}
+
+interface BankMetricStats {
+    sum: number | null;
+    average: number | null;
+    min: number | null;
+    max: number | null;
+}
+
+interface BankStats {
+    totals: {
+        count: number;
+        atms: BankMetricStats;
+        branches: BankMetricStats;
+        employees: BankMetricStats;
+    };
+    decades: { decade: number; count: number }[];
+    topByAtms: Bank[];
+}
+
+interface BankMultiGet {
+    banksById: Record<number, Bank>;
+    banksByName: Record<string, Bank>;
+    missingIds: number[];
+    missingNames: string[];
+}
+
+interface BankChangeEvent {
+    sequence: number;
+    type: "INSERT" | "UPDATE" | "DELETE" | "BULK";
+    bankId?: number;
+    bank?: Partial<Bank>;
+    count?: number;
+    occurredAt: string;
+}
 
 interface ValidationError {
     field: string;
@@ -32,4 +80,4 @@ interface BackendError {
     message?: string;
 }
 
-export type { Bank, ValidationError, BackendError };
\ No newline at end of file
+export type { Bank, BankSearchFilters, BankMetricStats, BankStats, BankMultiGet, BankChangeEvent, ValidationError, BackendError };
\ No newline at end of file
@@ -0,0 +1,40 @@
+package c303.c303_final;
+
+import c303.c303_final.model.Bank;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+public class BenchmarkFixtures {
+    private static final Date BANK_YEAR = new Date(0L);
+
+    private BenchmarkFixtures() {
+        // Private constructor to prevent class instantiation.
+    }
+
+    public static Bank bank(final long index) {
+        return Bank.builder()
+                .bankName("Benchmark Bank " + index)
+                .bankYear(BANK_YEAR)
+                .bankAddress(index + " Benchmark Avenue, Toronto, Ontario")
+                .bankAtms((int) (index % 50) + 1)
+                .bankBranches((int) (index % 20) + 1)
+                .bankEmployees((int) (index % 500) + 1)
+                .CreatedAt(Instant.EPOCH)
+                .ModifiedAt(Instant.EPOCH)
+                .build();
+    }
+
+    public static List<Bank> banks(final int count) {
+        var banks = new ArrayList<Bank>(count);
+
+        for (int i = 0; i < count; i++) {
+            var bank = bank(i);
+            bank.setBankId((long) i + 1);
+            banks.add(bank);
+        }
+        return banks;
+    }
+}
@@ -0,0 +1,96 @@
+package c303.c303_final.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load generator used to compare the platform-thread and virtual-thread execution modes.
+ * Keeps {@code concurrency} requests in flight against a running server for the given duration and reports
+ * throughput and latency percentiles. Usage: {@code <url> <concurrency> <durationSeconds> [warmupSeconds]}.
+ */
+public class BankLoadTest {
+    private BankLoadTest() {
+        // Private constructor to prevent class instantiation.
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Expected arguments: <url> <concurrency> <durationSeconds> [warmupSeconds].");
+        }
+
+        var uri = URI.create(args[0]);
+        var concurrency = Integer.parseInt(args[1]);
+        var duration = Duration.ofSeconds(Long.parseLong(args[2]));
+        var warmup = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 5);
+
+        var client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        var request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        run(client, request, concurrency, warmup, new ConcurrentHistogram(3), new LongAdder(), new LongAdder());
+
+        var latencies = new ConcurrentHistogram(3);
+        var completed = new LongAdder();
+        var failed = new LongAdder();
+        run(client, request, concurrency, duration, latencies, completed, failed);
+
+        System.out.printf("url=%s concurrency=%d duration=%ss%n", uri, concurrency, duration.toSeconds());
+        System.out.printf("requests=%d failed=%d throughput=%.1f req/s%n",
+                completed.sum(), failed.sum(), completed.sum() / (double) duration.toSeconds());
+        System.out.printf("latency ms p50=%.2f p99=%.2f p999=%.2f max=%.2f%n",
+                toMillis(latencies.getValueAtPercentile(50)),
+                toMillis(latencies.getValueAtPercentile(99)),
+                toMillis(latencies.getValueAtPercentile(99.9)),
+                toMillis(latencies.getMaxValue()));
+    }
+
+    // region Helpers
+    private static void run(
+            final HttpClient client,
+            final HttpRequest request,
+            final int concurrency,
+            final Duration duration,
+            final ConcurrentHistogram latencies,
+            final LongAdder completed,
+            final LongAdder failed
+    ) throws InterruptedException {
+        var inFlight = new Semaphore(concurrency);
+        var endAt = System.nanoTime() + duration.toNanos();
+
+        while (System.nanoTime() < endAt) {
+            if (!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+
+            var startedAt = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error != null || response.statusCode() >= 500) {
+                            failed.increment();
+                        } else {
+                            latencies.recordValue(System.nanoTime() - startedAt);
+                            completed.increment();
+                        }
+                        inFlight.release();
+                    });
+        }
+
+        // @note: Drain the requests still in flight so they do not leak into the next phase.
+        inFlight.acquire(concurrency);
+    }
+
+    private static double toMillis(final long nanos) {
+        return nanos / 1_000_000.0;
+    }
+    // endregion
+}
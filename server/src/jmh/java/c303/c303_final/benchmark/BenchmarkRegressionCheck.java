@@ -0,0 +1,121 @@
+package c303.c303_final.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file against a baseline and exits non-zero when any benchmark
+ * regressed by more than the given percentage. Usage: {@code <baseline.json> <result.json> <threshold%>}.
+ * A missing baseline is only tolerated outside CI (no {@code CI} environment variable), so a local first
+ * run can record one.
+ */
+public class BenchmarkRegressionCheck {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private BenchmarkRegressionCheck() {
+        // Private constructor to prevent class instantiation.
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Expected arguments: <baseline.json> <result.json> <threshold%>.");
+        }
+
+        var baselinePath = Path.of(args[0]);
+        var resultPath = Path.of(args[1]);
+        var threshold = Double.parseDouble(args[2]);
+
+        if (Files.notExists(baselinePath)) {
+            if (isCi()) {
+                System.err.printf("No baseline found at %s, a CI run cannot check for regressions without one.%n", baselinePath);
+                System.exit(1);
+            }
+
+            System.out.printf("No baseline found at %s, skipping regression check.%n", baselinePath);
+            System.out.printf("Copy %s to %s to record a new baseline.%n", resultPath, baselinePath);
+            return;
+        }
+
+        var baseline = readScores(baselinePath);
+        var result = readScores(resultPath);
+        var regressions = new ArrayList<String>();
+
+        result.forEach((key, current) -> {
+            var previous = baseline.get(key);
+
+            if (previous == null) {
+                System.out.printf("NEW       %s: %.3f %s%n", key, current.score(), current.unit());
+                return;
+            }
+
+            var change = current.changePercentFrom(previous);
+            var regressed = change > threshold && !current.overlaps(previous);
+            var line = String.format("%-9s %s: %.3f -> %.3f %s (%+.1f%%)",
+                    regressed ? "REGRESSED" : "OK", key, previous.score(), current.score(), current.unit(), change);
+
+            System.out.println(line);
+            if (regressed) {
+                regressions.add(line);
+            }
+        });
+
+        if (!regressions.isEmpty()) {
+            System.err.printf("%s benchmark(s) regressed by more than %.1f%%.%n", regressions.size(), threshold);
+            System.exit(1);
+        }
+    }
+
+    // region Helpers
+    private static boolean isCi() {
+        var ci = System.getenv("CI");
+        return ci != null && !ci.isBlank() && !"false".equalsIgnoreCase(ci);
+    }
+
+    private static Map<String, Score> readScores(final Path path) throws IOException {
+        var scores = new LinkedHashMap<String, Score>();
+
+        for (JsonNode run : OBJECT_MAPPER.readTree(path.toFile())) {
+            var key = new StringBuilder(run.get("benchmark").asText());
+            var params = run.get("params");
+
+            if (params != null) {
+                params.fields().forEachRemaining(param ->
+                        key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            }
+
+            var metric = run.get("primaryMetric");
+            scores.put(key.toString(), new Score(
+                    run.get("mode").asText(),
+                    metric.get("score").asDouble(),
+                    metric.path("scoreError").asDouble(0),
+                    metric.get("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private record Score(String mode, double score, double error, String unit) {
+        // @note: Positive means worse, throughput is better when higher and every other mode when lower.
+        double changePercentFrom(final Score previous) {
+            if (previous.score() == 0) {
+                return 0;
+            }
+
+            var change = (score - previous.score()) / previous.score() * 100;
+            return "thrpt".equals(mode) ? -change : change;
+        }
+
+        // @note: Overlapping 99.9% confidence intervals are noise, not a regression, whatever the relative change.
+        boolean overlaps(final Score previous) {
+            var errors = (Double.isNaN(error) ? 0 : error) + (Double.isNaN(previous.error()) ? 0 : previous.error());
+            return Math.abs(score - previous.score()) <= errors;
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,178 @@
+package c303.c303_final.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cold-start harness for the startup modes. Every run launches a fresh process, measures how long it takes until
+ * the HTTP port accepts connections and how long the first find/all request takes after that, then stops it.
+ * Works on the jar extracted by {@code mvn -P fast-startup package}, the AppCDS archive is trained here with the
+ * exact classpath of the runs since the JVM refuses an archive dumped for a different one.
+ * Usage: {@code <runs> <fastStartupDirectory> <extraClasspath> [appArgs...]}, e.g. an H2 jar as the extra
+ * classpath and {@code --spring.datasource.url=jdbc:h2:file:./target/startup/bank_data;MODE=MySQL ...} as the
+ * arguments. The jit mode runs first and applies the migrations the fast-startup modes expect to be there.
+ */
+public class StartupBenchmark {
+    //region DEFAULT(S)
+    private static final String MAIN_CLASS = "c303.c303_final.App";
+    private static final String FAST_STARTUP_PROFILE = "--spring.profiles.active=fast-startup";
+    private static final String CDS_ARCHIVE = "startup-benchmark.jsa";
+    private static final String NATIVE_IMAGE = "C303_Final";
+    private static final URI FIRST_REQUEST = URI.create("http://127.0.0.1:8080/api/v1/bank/find/all");
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+    //endregion
+
+    private StartupBenchmark() {
+        // Private constructor to prevent class instantiation.
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Expected arguments: <runs> <fastStartupDirectory> <extraClasspath> [appArgs...].");
+        }
+
+        var runs = Integer.parseInt(args[0]);
+        var directory = Path.of(args[1]).toAbsolutePath();
+        var appArgs = Arrays.asList(args).subList(3, args.length);
+        var classpath = applicationJar(directory) + (args[2].isBlank() ? "" : File.pathSeparator + args[2]);
+        var archive = directory.resolve(CDS_ARCHIVE);
+        var java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        var modes = new LinkedHashMap<String, List<String>>();
+        modes.put("jit", command(List.of(java, "-cp", classpath, MAIN_CLASS), appArgs));
+        modes.put("lazy", command(List.of(java, "-cp", classpath, MAIN_CLASS), appArgs, FAST_STARTUP_PROFILE));
+        modes.put("aot", command(List.of(java, "-Dspring.aot.enabled=true", "-cp", classpath, MAIN_CLASS),
+                appArgs, FAST_STARTUP_PROFILE));
+        modes.put("aot+cds", command(List.of(java, "-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                "-cp", classpath, MAIN_CLASS), appArgs, FAST_STARTUP_PROFILE));
+
+        var nativeImage = directory.getParent().resolve(NATIVE_IMAGE);
+        if (Files.isExecutable(nativeImage)) {
+            modes.put("native", command(List.of(nativeImage.toString()), appArgs, FAST_STARTUP_PROFILE));
+        }
+
+        train(command(List.of(java, "-XX:ArchiveClassesAtExit=" + archive, "-Dspring.aot.enabled=true",
+                "-Dspring.context.exit=onRefresh", "-cp", classpath, MAIN_CLASS), appArgs, FAST_STARTUP_PROFILE), directory);
+
+        var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            var ready = new long[runs];
+            var firstRequest = new long[runs];
+
+            for (int run = 0; run < runs; run++) {
+                var timings = measure(mode.getValue(), directory.resolve("startup-" + mode.getKey() + ".log"), client);
+                ready[run] = timings[0];
+                firstRequest[run] = timings[1];
+            }
+
+            System.out.printf("mode=%-8s runs=%d ready ms p50=%d min=%d | first request ms p50=%d min=%d%n",
+                    mode.getKey(), runs, median(ready), min(ready), median(firstRequest), min(firstRequest));
+        }
+    }
+
+    // region Helpers
+    private static String applicationJar(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("No application jar in " + directory + "."))
+                    .toString();
+        }
+    }
+
+    private static List<String> command(final List<String> launcher, final List<String> appArgs, final String... extraArgs) {
+        var command = new ArrayList<>(launcher);
+        command.addAll(appArgs);
+        command.addAll(List.of(extraArgs));
+        return command;
+    }
+
+    private static void train(final List<String> command, final Path directory) throws IOException, InterruptedException {
+        var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(directory.resolve("startup-training.log").toFile())
+                .start();
+
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("CDS training run failed, see startup-training.log.");
+        }
+    }
+
+    // @note: Returns the milliseconds until the port accepted a connection and those the first request took.
+    private static long[] measure(final List<String> command, final Path log, final HttpClient client)
+            throws IOException, InterruptedException {
+        var startedAt = System.nanoTime();
+        var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        try {
+            awaitPort(process, startedAt);
+            var readyAt = System.nanoTime();
+
+            var response = client.send(HttpRequest.newBuilder(FIRST_REQUEST).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            var respondedAt = System.nanoTime();
+
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("First request answered " + response.statusCode() + ", see " + log + ".");
+            }
+            return new long[] { toMillis(readyAt - startedAt), toMillis(respondedAt - readyAt) };
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static void awaitPort(final Process process, final long startedAt) throws InterruptedException {
+        var address = new InetSocketAddress(FIRST_REQUEST.getHost(), FIRST_REQUEST.getPort());
+
+        while (System.nanoTime() - startedAt < START_TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + " before accepting connections.");
+            }
+
+            try (var socket = new Socket()) {
+                socket.connect(address, 100);
+                return;
+            } catch (IOException e) {
+                Thread.sleep(5);
+            }
+        }
+        throw new IllegalStateException("Application did not accept connections within " + START_TIMEOUT + ".");
+    }
+
+    private static long median(final long[] values) {
+        var sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static long min(final long[] values) {
+        return Arrays.stream(values).min().orElse(0);
+    }
+
+    private static long toMillis(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+    // endregion
+}
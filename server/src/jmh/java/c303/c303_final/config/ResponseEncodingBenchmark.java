@@ -0,0 +1,138 @@
+package c303.c303_final.config;
+
+import c303.c303_final.BenchmarkFixtures;
+import c303.c303_final.model.Bank;
+import c303.c303_final.util.ApiResponse;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization cost and bytes on the wire of a find/all response of 10k banks, per negotiated encoding, with
+ * and without the gzip Tomcat applies. Each encoding goes through the same message converter the application
+ * registers. The size of one response as the client receives it is printed once the trial ends, it does not
+ * change between invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResponseEncodingBenchmark {
+    @Param({ "json", "cbor", "smile", "protobuf" })
+    private String encoding;
+
+    @Param({ "false", "true" })
+    private boolean gzip;
+
+    private GenericHttpMessageConverter<Object> converter;
+    private MediaType mediaType;
+    private Type responseType;
+    private ApiResponse<List<Bank>> response;
+
+    @Setup
+    public void setUp() {
+        // @note: Mirrors Boot's mapper, dates are written as ISO-8601 strings like the application does.
+        var builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        switch (encoding) {
+            case "json" -> {
+                converter = new MappingJackson2HttpMessageConverter(builder.build());
+                mediaType = MediaType.APPLICATION_JSON;
+            }
+            case "cbor" -> {
+                converter = new MappingJackson2CborHttpMessageConverter(builder.cbor().build());
+                mediaType = MediaType.APPLICATION_CBOR;
+            }
+            case "smile" -> {
+                converter = new MappingJackson2SmileHttpMessageConverter(builder.smile().build());
+                mediaType = new MediaType("application", "x-jackson-smile");
+            }
+            case "protobuf" -> {
+                converter = new BankProtobufHttpMessageConverter(builder.factory(new ProtobufFactory()).build());
+                mediaType = BankProtobufHttpMessageConverter.APPLICATION_PROTOBUF;
+            }
+            default -> throw new IllegalArgumentException(encoding);
+        }
+
+        responseType = ResolvableType.forClassWithGenerics(ApiResponse.class,
+                ResolvableType.forClassWithGenerics(List.class, Bank.class)).getType();
+        response = ApiResponse.<List<Bank>>builder()
+                .message("There are currently 10000 bank entities in the database.")
+                .status(HttpStatus.OK)
+                .payload(BenchmarkFixtures.banks(10_000))
+                .timestamp(Instant.EPOCH)
+                .build();
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        var message = new CountingOutputMessage(gzip);
+
+        converter.write(response, responseType, mediaType, message);
+        return message.finish();
+    }
+
+    @TearDown
+    public void printWireSize() throws IOException {
+        System.out.printf("%n%s%s: %,d bytes on the wire for 10k banks%n", encoding, gzip ? "+gzip" : "", write());
+    }
+
+    // region Helpers
+    private static final class CountingOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final CountingOutputStream wire = new CountingOutputStream();
+        private final OutputStream body;
+
+        private CountingOutputMessage(final boolean gzip) throws IOException {
+            this.body = gzip ? new GZIPOutputStream(wire, 8192) : wire;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        private long finish() throws IOException {
+            body.close();
+            return wire.count;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(final int b) {
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            count += len;
+        }
+    }
+    // endregion
+}
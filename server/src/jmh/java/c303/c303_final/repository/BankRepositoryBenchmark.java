@@ -0,0 +1,59 @@
+package c303.c303_final.repository;
+
+import c303.c303_final.App;
+import c303.c303_final.BenchmarkFixtures;
+import c303.c303_final.dtos.BankDto;
+import c303.c303_final.model.Bank;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BankRepositoryBenchmark {
+    private static final int SEEDED_BANKS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private BankRepository bankRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // @note: Boots the full JPA stack against the embedded H2 datastore from application-test.properties.
+        context = new SpringApplicationBuilder(App.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run();
+        bankRepository = context.getBean(BankRepository.class);
+
+        bankRepository.saveAll(IntStream.range(0, SEEDED_BANKS)
+                .mapToObj(BenchmarkFixtures::bank)
+                .toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Bank findBankByBankId() {
+        return bankRepository.findBankByBankId(ThreadLocalRandom.current().nextLong(1, SEEDED_BANKS + 1));
+    }
+
+    @Benchmark
+    public List<Bank> findBanksByBankName() {
+        return bankRepository.findBanksByBankName("Benchmark Bank " + ThreadLocalRandom.current().nextInt(SEEDED_BANKS));
+    }
+
+    @Benchmark
+    public List<BankDto> findBankDtosPage() {
+        return bankRepository.findBankDtos(null, ThreadLocalRandom.current().nextLong(SEEDED_BANKS - 100), 50);
+    }
+}
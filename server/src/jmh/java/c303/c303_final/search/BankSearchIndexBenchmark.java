@@ -0,0 +1,41 @@
+package c303.c303_final.search;
+
+import c303.c303_final.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete latency against the in-memory index, one query per ranking class plus a query matching nothing.
+ * Every fixture address contains "toronto", so that query matches the whole index and shows the candidate bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(jvmArgsAppend = "-Xmx3g")
+public class BankSearchIndexBenchmark {
+    @Param({ "100000", "1000000" })
+    private int banks;
+
+    @Param({ "benchmark bank 4242", "bank 77777", "toronto", "nchmark ban", "benchmrak bank 31337", "zzzz" })
+    private String query;
+
+    private TrigramIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new TrigramIndex(banks);
+
+        for (int i = 0; i < banks; i++) {
+            var bank = BenchmarkFixtures.bank(i);
+            index.put(i + 1, bank.getBankName(), bank.getBankAddress());
+        }
+        index.trim();
+    }
+
+    @Benchmark
+    public List<TrigramIndex.Hit> search() {
+        return index.search(query, 10, query.length() >= 9 ? 2 : 1, 10_000, 1_000);
+    }
+}
@@ -0,0 +1,114 @@
+package c303.c303_final.service;
+
+import c303.c303_final.App;
+import c303.c303_final.BenchmarkFixtures;
+import c303.c303_final.dtos.BankBatchResultDto;
+import c303.c303_final.model.Bank;
+import c303.c303_final.repository.BankRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Rows per second written through the batch endpoints' service against the single-item path the controller
+ * used before them, one transaction per bank. Every invocation writes {@link #ROWS} banks, so the reported
+ * throughput is rows/sec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BankBatchBenchmark.ROWS)
+public class BankBatchBenchmark {
+    static final int ROWS = 500;
+
+    private ConfigurableApplicationContext context;
+    private BankService bankService;
+    private BankBatchService bankBatchService;
+    private List<Long> seededIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(App.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run();
+        bankService = context.getBean(BankService.class);
+        bankBatchService = context.getBean(BankBatchService.class);
+
+        var bankRepository = context.getBean(BankRepository.class);
+        seededIds = bankRepository.saveAll(IntStream.range(0, ROWS)
+                        .mapToObj(BenchmarkFixtures::bank)
+                        .toList())
+                .stream()
+                .map(Bank::getBankId)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BankBatchResultDto createBatch() {
+        return bankBatchService.createBanks(newBanks());
+    }
+
+    @Benchmark
+    public int createSingle() {
+        var created = 0;
+
+        for (Bank bank : newBanks()) {
+            created += bankService.createBank(bank) == null ? 0 : 1;
+        }
+        return created;
+    }
+
+    @Benchmark
+    public BankBatchResultDto updateBatch() {
+        return bankBatchService.updateBanks(updates());
+    }
+
+    @Benchmark
+    public int updateSingle() {
+        var updated = 0;
+
+        for (Bank bank : updates()) {
+            updated += bankService.updateBankByBankId(bank, bank.getBankId(), null) ? 1 : 0;
+        }
+        return updated;
+    }
+
+    // region Helpers
+    private static List<Bank> newBanks() {
+        return IntStream.range(0, ROWS)
+                .mapToObj(BenchmarkFixtures::bank)
+                .toList();
+    }
+
+    // @note: Every row gets a different field changed, the case where dynamic updates would defeat batching.
+    private List<Bank> updates() {
+        var random = ThreadLocalRandom.current();
+        var banks = new ArrayList<Bank>(ROWS);
+
+        for (int i = 0; i < ROWS; i++) {
+            var bank = Bank.builder().bankId(seededIds.get(i)).build();
+
+            switch (i % 3) {
+                case 0 -> bank.setBankAtms(random.nextInt(1, 100));
+                case 1 -> bank.setBankBranches(random.nextInt(1, 100));
+                default -> bank.setBankEmployees(random.nextInt(1, 1000));
+            }
+            banks.add(bank);
+        }
+        return banks;
+    }
+    // endregion
+}
@@ -0,0 +1,104 @@
+package c303.c303_final.service;
+
+import c303.c303_final.App;
+import c303.c303_final.BenchmarkFixtures;
+import c303.c303_final.model.Bank;
+import c303.c303_final.repository.BankRepository;
+import c303.c303_final.util.ETagGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Concurrent writers hammering a small set of hot banks. Fewer hot banks means more contention, the
+ * conflicts counter shows how often a write lost the optimistic race and surfaced as a 409/412.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class BankContentionBenchmark {
+    @Param({ "1", "16" })
+    private int hotBanks;
+
+    private ConfigurableApplicationContext context;
+    private BankRepository bankRepository;
+    private BankService bankService;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(App.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run();
+        bankRepository = context.getBean(BankRepository.class);
+        bankService = context.getBean(BankService.class);
+
+        bankRepository.deleteAllInBatch();
+        bankRepository.saveAll(IntStream.range(0, hotBanks)
+                .mapToObj(BenchmarkFixtures::bank)
+                .toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Boolean patchById() {
+        var bank = randomBank();
+        return bankService.patchBankByBankId(patch(), bank.getBankId(), null);
+    }
+
+    @Benchmark
+    public Boolean patchByNameWithRetry(final Outcomes outcomes) {
+        try {
+            return bankService.patchBankByBankName(patch(), randomBank().getBankName(), null);
+        } catch (OptimisticLockingFailureException e) {
+            outcomes.conflicts++;
+            return false;
+        }
+    }
+
+    @Benchmark
+    public Boolean conditionalPatchById(final Outcomes outcomes) {
+        var bank = randomBank();
+
+        try {
+            return bankService.patchBankByBankId(patch(), bank.getBankId(), ETagGenerator.forBank(bank));
+        } catch (OptimisticLockingFailureException e) {
+            outcomes.conflicts++;
+            return false;
+        }
+    }
+
+    // region Helpers
+    private Bank randomBank() {
+        // @note: Read straight from the repository, the bank cache would hand back a stale version under contention.
+        var index = ThreadLocalRandom.current().nextInt(hotBanks);
+        return bankRepository.findBanksByBankName("Benchmark Bank " + index).get(0);
+    }
+
+    private static Bank patch() {
+        return Bank.builder().bankAtms(ThreadLocalRandom.current().nextInt(1, 100)).build();
+    }
+    // endregion
+}
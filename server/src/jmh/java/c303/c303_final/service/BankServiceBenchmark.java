@@ -0,0 +1,37 @@
+package c303.c303_final.service;
+
+import c303.c303_final.BenchmarkFixtures;
+import c303.c303_final.model.Bank;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BankServiceBenchmark {
+    private Bank target;
+    private Bank fullPatch;
+    private Bank partialPatch;
+
+    // @note: Per-invocation setup would cost more than the nanosecond-scale call it surrounds. Re-applying the same
+    //        patch leaves the target as it was apart from modifiedAt, so one fresh target per iteration is enough.
+    @Setup(Level.Iteration)
+    public void setUp() {
+        target = BenchmarkFixtures.bank(1);
+        fullPatch = BenchmarkFixtures.bank(2);
+        partialPatch = Bank.builder().bankAtms(42).build();
+    }
+
+    @Benchmark
+    public Bank updateBankAttributesFull() {
+        BankService.updateBankAttributes(target, fullPatch);
+        return target;
+    }
+
+    @Benchmark
+    public Bank updateBankAttributesPartial() {
+        BankService.updateBankAttributes(target, partialPatch);
+        return target;
+    }
+}
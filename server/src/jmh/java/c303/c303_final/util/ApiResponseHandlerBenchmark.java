@@ -0,0 +1,50 @@
+package c303.c303_final.util;
+
+import c303.c303_final.BenchmarkFixtures;
+import c303.c303_final.model.Bank;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApiResponseHandlerBenchmark {
+    private Bank bank;
+    private List<Bank> banks;
+
+    @Setup
+    public void setUp() {
+        bank = BenchmarkFixtures.bank(1);
+        banks = BenchmarkFixtures.banks(10);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<Bank>> success() {
+        return ApiResponseHandler.success(bank);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<Bank>> payloadSuccessWithArgs() {
+        return ApiResponseHandler.payloadSuccess("Bank with id %s was found.", HttpStatus.OK, bank, 1L);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<Bank>> error() {
+        return ApiResponseHandler.error("Bank with id %s not found.", HttpStatus.NOT_FOUND, 1L);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<List<Bank>>> collectionWithoutArgs() {
+        return ApiResponseHandler.collection("There are no bank entities.", HttpStatus.OK, banks);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<List<Bank>>> collectionWithArgs() {
+        return ApiResponseHandler.collection(
+                "There are currently %s bank entities in the database.", HttpStatus.OK, banks, banks.size());
+    }
+}
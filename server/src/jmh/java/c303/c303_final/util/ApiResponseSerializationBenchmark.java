@@ -0,0 +1,42 @@
+package c303.c303_final.util;
+
+import c303.c303_final.BenchmarkFixtures;
+import c303.c303_final.model.Bank;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ApiResponseSerializationBenchmark {
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<Bank>> response;
+
+    @Setup
+    public void setUp() {
+        // @note: Mirrors the modules Spring Boot registers on its auto-configured ObjectMapper.
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        response = ApiResponse.<List<Bank>>builder()
+                .message("There are currently " + rows + " bank entities in the database.")
+                .status(HttpStatus.OK)
+                .payload(BenchmarkFixtures.banks(rows))
+                .timestamp(Instant.EPOCH)
+                .build();
+    }
+
+    @Benchmark
+    public void serializeCollection() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+}
@@ -0,0 +1,37 @@
+package c303.c303_final.util;
+
+import c303.c303_final.BenchmarkFixtures;
+import c303.c303_final.model.Bank;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single-bank envelope, the shape of most find/update responses. Separate from
+ * {@link ApiResponseSerializationBenchmark} so its rows parameter does not fork this one over table sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApiResponseSingleSerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private ApiResponse<Bank> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        response = new ApiResponse<>("Bank with id 1 was found.", HttpStatus.OK,
+                BenchmarkFixtures.banks(1).get(0), null, Instant.EPOCH);
+    }
+
+    @Benchmark
+    public void serializeSingle() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+}
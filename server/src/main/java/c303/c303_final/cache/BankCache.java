@@ -0,0 +1,231 @@
+package c303.c303_final.cache;
+
+import c303.c303_final.dtos.BankCacheStatsDto;
+import c303.c303_final.dtos.BankStatsDto;
+import c303.c303_final.model.Bank;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Component
+public class BankCache {
+    private final AsyncCache<Long, Bank> banksById;
+    private final AsyncCache<String, Bank> banksByName;
+    private final AsyncCache<Object, BankStatsDto> bankStats;
+    private final Map<Long, String> cachedNames = new ConcurrentHashMap<>();
+    private final Set<String> loadingNames = ConcurrentHashMap.newKeySet();
+
+    public BankCache(
+            @Value("${bank.cache.maximum-size:10000}") long maximumSize,
+            @Value("${bank.cache.expire-after-write:PT10M}") Duration expireAfterWrite,
+            MeterRegistry meterRegistry
+    ) {
+        // @note: Caffeine evicts with W-TinyLFU, which behaves like LFU with an LRU admission window.
+        this.banksById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        this.banksByName = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .evictionListener((String bankName, Bank bank, RemovalCause cause) -> forgetName(bankName, bank))
+                .buildAsync();
+
+        // @note: Keyed by the table version, a write moves the version on so stale summaries are never hit again.
+        this.bankStats = Caffeine.newBuilder()
+                .maximumSize(16)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, banksById, "banks.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, banksByName, "banks.by-name");
+        CaffeineCacheMetrics.monitor(meterRegistry, bankStats, "banks.stats");
+    }
+
+    public Bank getById(final Long id, final Function<Long, Bank> loader) {
+        return getOrLoad(banksById, id, loader, null);
+    }
+
+    public Bank getByName(final String bankName, final Function<String, Bank> loader) {
+        return getOrLoad(banksByName, bankName, key -> rememberName(key, loader.apply(key)), loadingNames);
+    }
+
+    // @note: For loads that may read stale rows, like a lagging replica's. A cached bank is still returned, the
+    //        loaded one is not stored, so it is never served to a caller that has to see its own writes.
+    public Bank getByIdUncached(final Long id, final Function<Long, Bank> loader) {
+        return getOrLoadUncached(banksById, id, loader);
+    }
+
+    public Bank getByNameUncached(final String bankName, final Function<String, Bank> loader) {
+        return getOrLoadUncached(banksByName, bankName, loader);
+    }
+
+    public void put(final Bank bank) {
+        if (bank == null || bank.getBankId() == null) {
+            return;
+        }
+
+        banksById.put(bank.getBankId(), CompletableFuture.completedFuture(bank));
+
+        // @note: Several banks can share a name, so the name index is only invalidated and reloaded on demand.
+        evictName(bank.getBankName());
+    }
+
+    public void evict(final Bank bank) {
+        if (bank == null) {
+            return;
+        }
+
+        evictById(bank.getBankId());
+        evictName(bank.getBankName());
+    }
+
+    public void evictById(final Long id) {
+        if (id == null) {
+            return;
+        }
+
+        banksById.synchronous().invalidate(id);
+
+        // @note: Used when a bank is written without being loaded, the side map knows the name it is cached under.
+        var bankName = cachedNames.remove(id);
+        if (bankName != null) {
+            banksByName.synchronous().invalidate(bankName);
+        }
+
+        // @note: A name load still in flight may have read this bank before the write, its name is not known yet.
+        loadingNames.forEach(banksByName.synchronous()::invalidate);
+    }
+
+    public void evictName(final String bankName) {
+        if (bankName != null) {
+            var removed = banksByName.asMap().remove(bankName);
+
+            if (removed != null) {
+                forgetName(bankName, removed.getNow(null));
+            }
+        }
+    }
+
+    public BankStatsDto getStats(final Object versionKey, final Function<Object, BankStatsDto> loader) {
+        return getOrLoad(bankStats, versionKey, loader, null);
+    }
+
+    public void clear() {
+        banksById.synchronous().invalidateAll();
+        banksByName.synchronous().invalidateAll();
+        bankStats.synchronous().invalidateAll();
+        cachedNames.clear();
+    }
+
+    public List<BankCacheStatsDto> stats() {
+        return List.of(
+                toStats("id", banksById.synchronous()),
+                toStats("name", banksByName.synchronous()),
+                toStats("stats", bankStats.synchronous()));
+    }
+
+    // region Helpers
+    // @note: Only an empty future is installed under the map's bin lock, the database load runs afterwards on the
+    //        caller's thread, so a virtual thread is never pinned to its carrier for the JDBC round trip. A write
+    //        that invalidates the key while the load is in flight discards the future, so a row read before the
+    //        write commits is never cached after it.
+    private static <K, V> V getOrLoad(
+            final AsyncCache<K, V> cache,
+            final K key,
+            final Function<K, V> loader,
+            final Set<K> loadingKeys
+    ) {
+        var loading = new CompletableFuture<V>();
+        var future = cache.get(key, (k, executor) -> loading);
+
+        if (future != loading) {
+            var value = await(future);
+
+            // @note: A failed load completes empty and is not cached, the caller then loads for itself.
+            return value != null ? value : loader.apply(key);
+        }
+
+        if (loadingKeys != null) {
+            loadingKeys.add(key);
+        }
+
+        try {
+            var value = loader.apply(key);
+            loading.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // @note: Completing exceptionally would have Caffeine log every not-found lookup as a failed load.
+            loading.complete(null);
+            throw e;
+        } finally {
+            if (loadingKeys != null) {
+                loadingKeys.remove(key);
+            }
+        }
+    }
+
+    private static <K, V> V getOrLoadUncached(final AsyncCache<K, V> cache, final K key, final Function<K, V> loader) {
+        var future = cache.getIfPresent(key);
+        var value = future == null ? null : await(future);
+
+        return value != null ? value : loader.apply(key);
+    }
+
+    private static <V> V await(final CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private Bank rememberName(final String bankName, final Bank bank) {
+        if (bank != null && bank.getBankId() != null) {
+            cachedNames.put(bank.getBankId(), bankName);
+        }
+        return bank;
+    }
+
+    private void forgetName(final String bankName, final Bank bank) {
+        if (bank != null && bank.getBankId() != null) {
+            cachedNames.remove(bank.getBankId(), bankName);
+        }
+    }
+
+    private static BankCacheStatsDto toStats(final String index, final Cache<?, ?> cache) {
+        var stats = cache.stats();
+
+        return new BankCacheStatsDto(
+                index,
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                stats.hitRate());
+    }
+    // endregion
+}
@@ -0,0 +1,98 @@
+package c303.c303_final.config;
+
+import c303.c303_final.dtos.BankDto;
+import c303.c303_final.model.Bank;
+import c303.c303_final.util.ApiResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Writes bank responses as protocol buffers against {@code proto/bank.proto}. Unlike CBOR and Smile the format
+ * needs a schema per message, so only envelopes whose payload is a bank or a list of banks (either as entities
+ * or as {@link BankDto} projections) are offered, anything else is left to the other converters.
+ */
+public class BankProtobufHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+    //region DEFAULT(S)
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final String SCHEMA_LOCATION = "proto/bank.proto";
+    private static final String BANK_RESPONSE = "BankResponse";
+    private static final String BANK_LIST_RESPONSE = "BankListResponse";
+    //endregion
+
+    private final ProtobufSchema bankResponse;
+    private final ProtobufSchema bankListResponse;
+
+    public BankProtobufHttpMessageConverter(final ObjectMapper objectMapper) {
+        super(objectMapper, APPLICATION_PROTOBUF, new MediaType("application", "protobuf"));
+
+        try {
+            NativeProtobufSchema nativeSchema = ProtobufSchemaLoader.std.loadNative(new ClassPathResource(SCHEMA_LOCATION).getURL());
+            this.bankResponse = nativeSchema.forType(BANK_RESPONSE);
+            this.bankListResponse = nativeSchema.forType(BANK_LIST_RESPONSE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean canRead(final Class<?> clazz, @Nullable final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(final Type type, @Nullable final Class<?> contextClass, @Nullable final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(final Class<?> clazz, @Nullable final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable final Type type, final Class<?> clazz, @Nullable final MediaType mediaType) {
+        return type != null && canWrite(mediaType) && schemaFor(getJavaType(type, null)) != null;
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(final ObjectWriter writer, @Nullable final JavaType javaType,
+                                           @Nullable final MediaType mediaType) {
+        return writer.with(schemaFor(javaType));
+    }
+
+    // region Helpers
+    @Nullable
+    private ProtobufSchema schemaFor(final JavaType javaType) {
+        if (!javaType.hasRawClass(ApiResponse.class) || javaType.containedTypeCount() != 1) {
+            return null;
+        }
+
+        var payload = javaType.containedType(0);
+        if (isBank(payload)) {
+            return bankResponse;
+        }
+        if (payload.isTypeOrSubTypeOf(Collection.class) && isBank(payload.getContentType())) {
+            return bankListResponse;
+        }
+        return null;
+    }
+
+    private static boolean isBank(final JavaType type) {
+        return type.hasRawClass(Bank.class) || type.hasRawClass(BankDto.class);
+    }
+    // endregion
+}
@@ -0,0 +1,145 @@
+package c303.c303_final.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Makes {@code server.compression.min-response-size} hold for the API. Tomcat only skips compression when it
+ * knows the body is small, and it only knows that when the whole body is still in its buffer as the response
+ * completes. The message converters flush after every body, which commits the headers without a length, so
+ * every response was compressed. Flushes are held back here until the body outgrows the threshold. Streamed
+ * responses are left alone, each of their flushes has to reach the client: event streams, NDJSON and CSV
+ * bodies, and attachments such as the exports.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "server.compression.enabled", havingValue = "true")
+public class CompressionThresholdFilter extends OncePerRequestFilter {
+    private final long minResponseSize;
+
+    public CompressionThresholdFilter(@Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        this.minResponseSize = minResponseSize.toBytes();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, new ThresholdResponse(response, minResponseSize));
+    }
+
+    // @note: Async dispatches (SSE, StreamingResponseBody) keep writing to the response wrapped on the first pass.
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    private static final class ThresholdResponse extends HttpServletResponseWrapper {
+        private final long minResponseSize;
+        private ThresholdOutputStream outputStream;
+
+        private ThresholdResponse(final HttpServletResponse response, final long minResponseSize) {
+            super(response);
+            this.minResponseSize = minResponseSize;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new ThresholdOutputStream(this, super.getOutputStream(), minResponseSize);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (outputStream == null || outputStream.passesFlush()) {
+                super.flushBuffer();
+            }
+        }
+    }
+
+    private static final class ThresholdOutputStream extends ServletOutputStream {
+        private static final List<String> STREAMED_TYPES = List.of(
+                MediaType.TEXT_EVENT_STREAM_VALUE,
+                MediaType.APPLICATION_NDJSON_VALUE,
+                "text/csv");
+
+        private final HttpServletResponse response;
+        private final ServletOutputStream delegate;
+        private final long minResponseSize;
+        private long written;
+
+        private ThresholdOutputStream(final HttpServletResponse response, final ServletOutputStream delegate,
+                                      final long minResponseSize) {
+            this.response = response;
+            this.delegate = delegate;
+            this.minResponseSize = minResponseSize;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            delegate.write(b);
+            written++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            delegate.write(b, off, len);
+            written += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (passesFlush()) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+
+        // region Helpers
+        private boolean passesFlush() {
+            return written >= minResponseSize || isStreamed();
+        }
+
+        private boolean isStreamed() {
+            var contentType = response.getContentType();
+            var disposition = response.getHeader(HttpHeaders.CONTENT_DISPOSITION);
+
+            if (disposition != null && disposition.startsWith("attachment")) {
+                return true;
+            }
+            return contentType != null && STREAMED_TYPES.stream().anyMatch(contentType::startsWith);
+        }
+        // endregion
+    }
+}
@@ -0,0 +1,39 @@
+package c303.c303_final.config;
+
+import c303.c303_final.datasource.ReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * The {@code spring.datasource.*} pool behind a proxy that only takes a physical connection once the first
+ * statement runs. A transaction that ends without one, like a lookup answered by the bank cache or a caller
+ * waiting on another's query, never holds a pooled connection. With replicas configured, read-only transactions
+ * get theirs from {@link ReplicaDataSource} instead.
+ */
+@Configuration
+@Profile("!reactive")
+public class DataSourceConfig {
+    // @note: Bound to spring.datasource.hikari like Boot's own pool, so pool settings keep applying to the primary.
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ObjectProvider<ReplicaDataSource> replicaDataSource) {
+        var dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        replicaDataSource.ifAvailable(dataSource::setReadOnlyDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,115 @@
+package c303.c303_final.config;
+
+import c303.c303_final.datasource.ReadYourWritesFilter;
+import c303.c303_final.datasource.ReplicaDataSource;
+import c303.c303_final.datasource.ReplicaReadsJpaDialect;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to the replicas in {@code bank.datasource.replica-urls} and everything else to
+ * the {@code spring.datasource.*} primary. {@link DataSourceConfig} only takes the physical connection once the
+ * first statement runs, by then the transaction has marked it read-only or not, and that picks the side it comes
+ * from. Without replica urls none of this is created and every connection comes from the primary pool.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "bank.datasource.replica-urls")
+public class DataSourceRoutingConfig {
+    @Bean(destroyMethod = "close")
+    public ReplicaDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${bank.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${bank.datasource.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${bank.datasource.replica-password:${spring.datasource.password:}}") String password,
+            @Value("${bank.datasource.replica-pool-size:10}") int poolSize,
+            @Value("${bank.datasource.replica-connection-timeout:PT1S}") Duration connectionTimeout
+    ) {
+        var replicas = new ArrayList<HikariDataSource>(replicaUrls.size());
+
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            var config = new HikariConfig();
+            config.setPoolName("bank-replica-" + i);
+            config.setJdbcUrl(replicaUrls.get(i).trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setDriverClassName(properties.determineDriverClassName());
+            config.setMaximumPoolSize(poolSize);
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            config.setReadOnly(true);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+            // @note: A replica that is down at startup starts out of rotation instead of failing the application.
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaDataSource(primaryDataSource, replicas, meterRegistry);
+    }
+
+    // @note: Replaces Boot's adapter only to hand out the replica-aware dialect, the spring.jpa settings Boot
+    //        applies to its own are applied here the same way.
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(JpaProperties properties) {
+        var jpaDialect = new ReplicaReadsJpaDialect();
+        var adapter = new HibernateJpaVendorAdapter() {
+            @Override
+            public HibernateJpaDialect getJpaDialect() {
+                return jpaDialect;
+            }
+        };
+
+        adapter.setShowSql(properties.isShowSql());
+        if (properties.getDatabase() != null) {
+            adapter.setDatabase(properties.getDatabase());
+        }
+        if (properties.getDatabasePlatform() != null) {
+            adapter.setDatabasePlatform(properties.getDatabasePlatform());
+        }
+        adapter.setGenerateDdl(properties.isGenerateDdl());
+        return adapter;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(@Value("${bank.datasource.read-your-writes:PT5S}") Duration window) {
+        return new ReadYourWritesFilter(window);
+    }
+
+    // @note: Only for replicas nothing replicates to, like the embedded ones of a local setup. Real replicas
+    //        receive the schema from the primary.
+    @Bean
+    @ConditionalOnProperty(name = "bank.datasource.migrate-replicas", havingValue = "true")
+    public FlywayMigrationStrategy replicaMigrationStrategy(
+            @Value("${bank.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${bank.datasource.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${bank.datasource.replica-password:${spring.datasource.password:}}") String password
+    ) {
+        return flyway -> {
+            flyway.migrate();
+            replicaUrls.forEach(url -> Flyway.configure()
+                    .configuration(flyway.getConfiguration())
+                    .dataSource(url.trim(), username, password)
+                    .load()
+                    .migrate());
+        };
+    }
+}
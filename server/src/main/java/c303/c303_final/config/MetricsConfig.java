@@ -0,0 +1,31 @@
+package c303.c303_final.config;
+
+import c303.c303_final.metrics.QueryCountInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public WebMvcConfigurer queryCountConfigurer(MeterRegistry meterRegistry) {
+        var interceptor = new QueryCountInterceptor(meterRegistry);
+
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor)
+                        .addPathPatterns("/api/**");
+            }
+
+            // @note: Binds the request's counter on the async thread a StreamingResponseBody or Callable runs on.
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(interceptor);
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package c303.c303_final.config;
+
+import c303.c303_final.model.Bank;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache regions, created up front on a Caffeine-backed JCache manager so their sizes
+ * and expiry come from {@code bank.second-level-cache.*} rather than a separate cache config file. Hibernate is
+ * set to fail on a missing region, so a region name typo shows up at startup instead of as a silent miss.
+ */
+@Configuration
+@Profile("!reactive")
+public class SecondLevelCacheConfig {
+    //region DEFAULT(S)
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    private static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    //endregion
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${bank.second-level-cache.entity.maximum-size:10000}") long entityMaximumSize,
+            @Value("${bank.second-level-cache.entity.expire-after-write:PT10M}") Duration entityExpireAfterWrite,
+            @Value("${bank.second-level-cache.query.maximum-size:1000}") long queryMaximumSize,
+            @Value("${bank.second-level-cache.query.expire-after-write:PT5M}") Duration queryExpireAfterWrite
+    ) {
+        var provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // @note: A manager of its own per context, JCache shares managers by URI and a second context in the same
+        //        JVM (tests, benchmarks) would otherwise collide with these regions.
+        var cacheManager = provider.getCacheManager(
+                URI.create("bank-second-level-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        createRegion(cacheManager, Bank.CACHE_REGION, entityMaximumSize, entityExpireAfterWrite);
+        createRegion(cacheManager, Bank.QUERY_CACHE_REGION, queryMaximumSize, queryExpireAfterWrite);
+        createRegion(cacheManager, DEFAULT_QUERY_RESULTS_REGION, queryMaximumSize, queryExpireAfterWrite);
+
+        // @note: Query results are only trusted while their table timestamps are present, so this region is
+        //        neither bounded nor expired. It holds one entry per table.
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, null, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // region Helpers
+    private static void createRegion(final CacheManager cacheManager, final String region, final Long maximumSize,
+                                     final Duration expireAfterWrite) {
+        var configuration = new CaffeineConfiguration<Object, Object>();
+        configuration.setStatisticsEnabled(true);
+
+        if (maximumSize != null) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (expireAfterWrite != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        }
+
+        cacheManager.createCache(region, configuration);
+    }
+    // endregion
+}
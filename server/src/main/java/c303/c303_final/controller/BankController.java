@@ -1,30 +1,100 @@
 package c303.c303_final.controller;
 
+import c303.c303_final.dtos.BankBatchResultDto;
+import c303.c303_final.dtos.BankCacheStatsDto;
+import c303.c303_final.dtos.BankDto;
+import c303.c303_final.dtos.BankExportResultDto;
+import c303.c303_final.dtos.BankImportJobDto;
+import c303.c303_final.dtos.BankLookupDto;
+import c303.c303_final.dtos.BankMultiGetDto;
+import c303.c303_final.dtos.BankPageDto;
+import c303.c303_final.dtos.BankSearchCriteriaDto;
+import c303.c303_final.dtos.BankSearchHitDto;
+import c303.c303_final.dtos.BankStatsDto;
+import c303.c303_final.export.BankExportFormat;
+import c303.c303_final.feed.BankChangeFeed;
 import c303.c303_final.model.Bank;
+import c303.c303_final.search.BankSearchIndex;
+import c303.c303_final.service.BankBatchService;
+import c303.c303_final.service.BankExportService;
+import c303.c303_final.service.BankImportService;
 import c303.c303_final.service.BankService;
+import c303.c303_final.service.IdempotencyService;
 import c303.c303_final.util.ApiResponse;
 import c303.c303_final.util.ApiResponseHandler;
+import c303.c303_final.util.ETagGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @RequestMapping("api/v1/bank/")
 @RestController
+@Profile("!reactive")
 public class BankController {
     private final BankService bankService;
+    private final BankBatchService bankBatchService;
+    private final BankImportService bankImportService;
+    private final BankExportService bankExportService;
+    private final IdempotencyService idempotencyService;
+    private final BankChangeFeed bankChangeFeed;
+    private final BankSearchIndex bankSearchIndex;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public BankController(BankService bankService) {
+    public BankController(
+            BankService bankService,
+            BankBatchService bankBatchService,
+            BankImportService bankImportService,
+            BankExportService bankExportService,
+            IdempotencyService idempotencyService,
+            BankChangeFeed bankChangeFeed,
+            BankSearchIndex bankSearchIndex,
+            ObjectMapper objectMapper
+    ) {
         this.bankService = bankService;
+        this.bankBatchService = bankBatchService;
+        this.bankImportService = bankImportService;
+        this.bankExportService = bankExportService;
+        this.idempotencyService = idempotencyService;
+        this.bankChangeFeed = bankChangeFeed;
+        this.bankSearchIndex = bankSearchIndex;
+        this.objectMapper = objectMapper;
     }
 
     // region GET MAPPINGS
     @GetMapping("find/all")
-    public ResponseEntity<ApiResponse<List<Bank>>> findAllBanks() {
-        var banks = bankService.findAllBanks();
+    public ResponseEntity<ApiResponse<List<BankDto>>> findAllBanks(
+            @RequestParam(name = "fields", required = false) Set<String> fields,
+            WebRequest webRequest
+    ) {
+        // @note: Returning null after checkNotModified leaves Spring's 304 in place without touching the table or serializing.
+        if (isCollectionNotModified(webRequest, "all", fields)) {
+            return null;
+        }
+
+        var banks = bankService.findAllBanks(fields);
 
         if (banks.isEmpty()) {
             return ApiResponseHandler.collection(
@@ -41,9 +111,77 @@ public class BankController {
         );
     }
 
+    @GetMapping("find/page")
+    public ResponseEntity<ApiResponse<BankPageDto>> findBankPage(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "fields", required = false) Set<String> fields,
+            WebRequest webRequest
+    ) {
+        if (isCollectionNotModified(webRequest, "page", cursor, size, fields)) {
+            return null;
+        }
+
+        var page = bankService.findBankPage(cursor, size, fields);
+
+        return ApiResponseHandler.payloadSuccess(
+                "Returned %s bank entities for the requested page.",
+                HttpStatus.OK,
+                page,
+                page.getBanks().size()
+        );
+    }
+
+    @GetMapping(value = "find/all/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBanks() {
+        StreamingResponseBody body = outputStream -> {
+            try (var writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                var written = new AtomicBoolean();
+                bankService.streamAllBanks(bank -> {
+                    try {
+                        writer.write(bank);
+                        written.set(true);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+                // @note: The separator only goes between rows, an empty table stays an empty body.
+                if (written.get()) {
+                    writer.flush();
+                    outputStream.write('\n');
+                }
+            }
+        };
+
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("export")
+    public ResponseEntity<StreamingResponseBody> exportBanks(
+            @RequestParam(name = "format", required = false) String format,
+            @RequestParam(name = "gzip", required = false, defaultValue = "false") boolean gzip
+    ) {
+        var exportFormat = BankExportFormat.fromParam(format);
+        var filename = "banks" + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = outputStream -> bankExportService.exportBanks(exportFormat, gzip, outputStream);
+
+        return ResponseEntity
+                .ok()
+                .contentType(gzip ? BankExportService.APPLICATION_GZIP : exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     @GetMapping("find/id")
     public ResponseEntity<ApiResponse<Bank>> findBankByBankId(
-            @RequestParam(name = "bankId", required = false, defaultValue = "false") Long bankId
+            @RequestParam(name = "bankId", required = false, defaultValue = "false") Long bankId,
+            WebRequest webRequest
     ) {
         var bank = bankService.findBankById(bankId);
 
@@ -53,12 +191,17 @@ public class BankController {
                             HttpStatus.NOT_FOUND);
         }
 
+        if (isBankNotModified(webRequest, bank)) {
+            return null;
+        }
+
         return ApiResponseHandler.success(bank);
     }
 
     @GetMapping("find/name")
     public ResponseEntity<ApiResponse<Bank>> findBankByBankName(
-            @RequestParam(name = "bankName", required = false, defaultValue = "false")  String bankName) {
+            @RequestParam(name = "bankName", required = false, defaultValue = "false")  String bankName,
+            WebRequest webRequest) {
         var bank = bankService.findBankByBankName(bankName);
 
         if (bank == null) {
@@ -67,22 +210,196 @@ public class BankController {
                             HttpStatus.NOT_FOUND);
         }
 
+        if (isBankNotModified(webRequest, bank)) {
+            return null;
+        }
+
         return ApiResponseHandler.success(bank);
     }
+
+    @GetMapping("search")
+    public ResponseEntity<ApiResponse<List<Bank>>> searchBanks(
+            @RequestParam(name = "namePrefix", required = false) String namePrefix,
+            @RequestParam(name = "yearFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date yearFrom,
+            @RequestParam(name = "yearTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date yearTo,
+            @RequestParam(name = "minAtms", required = false) Integer minAtms,
+            @RequestParam(name = "maxAtms", required = false) Integer maxAtms,
+            @RequestParam(name = "minBranches", required = false) Integer minBranches,
+            @RequestParam(name = "maxBranches", required = false) Integer maxBranches,
+            @RequestParam(name = "minEmployees", required = false) Integer minEmployees,
+            @RequestParam(name = "maxEmployees", required = false) Integer maxEmployees,
+            @PageableDefault(size = 50, sort = "bankId", direction = Sort.Direction.ASC) Pageable pageable
+    ) {
+        var criteria = BankSearchCriteriaDto.builder()
+                .namePrefix(namePrefix)
+                .yearFrom(yearFrom)
+                .yearTo(yearTo)
+                .minAtms(minAtms)
+                .maxAtms(maxAtms)
+                .minBranches(minBranches)
+                .maxBranches(maxBranches)
+                .minEmployees(minEmployees)
+                .maxEmployees(maxEmployees)
+                .build();
+        var page = bankService.searchBanks(criteria, pageable);
+
+        return ApiResponseHandler.collection(
+                "Found %s bank entities matching the search, returning page %s of %s.",
+                HttpStatus.OK,
+                page.getContent(),
+                page.getTotalElements(),
+                page.getNumber(),
+                page.getTotalPages()
+        );
+    }
+
+    // @note: Answered from the in-memory index, ranked by field prefix, word prefix, substring and then typos.
+    @GetMapping("search/suggest")
+    public ResponseEntity<ApiResponse<List<BankSearchHitDto>>> suggestBanks(
+            @RequestParam(name = "query", required = false) String query,
+            @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        if (!bankSearchIndex.isReady()) {
+            return ApiResponseHandler.error(
+                    "The bank search index is still being built, please try again shortly.",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        var hits = bankSearchIndex.search(query, limit);
+
+        return ApiResponseHandler.collection(
+                "Found %s bank entities matching %s.",
+                HttpStatus.OK,
+                hits,
+                hits.size(),
+                query
+        );
+    }
+
+    @GetMapping("stats")
+    public ResponseEntity<ApiResponse<BankStatsDto>> findBankStats(
+            @RequestParam(name = "top", required = false) Integer top,
+            WebRequest webRequest
+    ) {
+        if (isCollectionNotModified(webRequest, "stats", top)) {
+            return null;
+        }
+
+        var stats = bankService.findBankStats(top);
+
+        return ApiResponseHandler.payloadSuccess(
+                "Computed statistics over %s bank entities.",
+                HttpStatus.OK,
+                stats,
+                stats.getTotals().getCount()
+        );
+    }
+
+    // @note: EventSource resends the id of the last event it saw as Last-Event-ID when it reconnects, since is
+    //        for clients that keep the sequence themselves.
+    @GetMapping(value = "changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(name = "since", required = false) String since
+    ) {
+        return bankChangeFeed.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
+    @GetMapping("cache/stats")
+    public ResponseEntity<ApiResponse<List<BankCacheStatsDto>>> findCacheStats() {
+        var stats = bankService.findCacheStats();
+
+        return ApiResponseHandler.collection(
+                "Returned statistics for %s bank cache indexes.",
+                HttpStatus.OK,
+                stats,
+                stats.size()
+        );
+    }
+
+    @GetMapping("import/job")
+    public ResponseEntity<ApiResponse<BankImportJobDto>> findImportJob(
+            @RequestParam(name = "jobId", required = false) String jobId
+    ) {
+        var job = bankImportService.findImportJob(jobId);
+
+        if (job == null) {
+            return ApiResponseHandler
+                    .error("Import job with id %s not found.", HttpStatus.NOT_FOUND, jobId);
+        }
+
+        return ApiResponseHandler.success(job);
+    }
     // endregion
 
     // region POST MAPPING(S)
     @PostMapping("/add")
-    public ResponseEntity<ApiResponse<Bank>> addBank(@RequestBody Bank bank) {
-        var bankToAdd = bankService.createBank(bank);
+    public ResponseEntity<ApiResponse<Bank>> addBank(
+            @RequestHeader(name = IdempotencyService.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody Bank bank
+    ) {
+        return idempotencyService.execute(idempotencyKey, () -> {
+            var bankToAdd = bankService.createBank(bank);
 
-        if (bankToAdd == null) {
-            return ApiResponseHandler
-                    .error("Something went wrong with adding a new Bank entity.",
-                            HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+            if (bankToAdd == null) {
+                return ApiResponseHandler
+                        .error("Something went wrong with adding a new Bank entity.",
+                                HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+
+            return ApiResponseHandler.success(bankToAdd);
+        }, "add", bank);
+    }
 
-        return ApiResponseHandler.success(bankToAdd);
+    @PostMapping("find/many")
+    public ResponseEntity<ApiResponse<BankMultiGetDto>> findBanks(@RequestBody BankLookupDto lookup) {
+        var result = bankService.findBanks(lookup);
+        var found = result.getBanksById().size() + result.getBanksByName().size();
+
+        return ApiResponseHandler.payloadSuccess(
+                "Found %s of the %s requested bank keys.",
+                HttpStatus.OK,
+                result,
+                found,
+                found + result.getMissingIds().size() + result.getMissingNames().size()
+        );
+    }
+
+    @PostMapping("batch/add")
+    public ResponseEntity<ApiResponse<BankBatchResultDto>> addBanks(@RequestBody List<Bank> banks) {
+        return batchResponse(bankBatchService.createBanks(banks));
+    }
+
+    @PostMapping("export/file")
+    public ResponseEntity<ApiResponse<BankExportResultDto>> exportBanksToFile(
+            @RequestParam(name = "format", required = false) String format,
+            @RequestParam(name = "gzip", required = false, defaultValue = "false") boolean gzip
+    ) throws IOException {
+        var result = bankExportService.exportBanksToFile(BankExportFormat.fromParam(format), gzip);
+
+        return ApiResponseHandler.payloadSuccess(
+                "Exported %s bank entities to %s.",
+                HttpStatus.OK,
+                result,
+                result.getRows(),
+                result.getPath()
+        );
+    }
+
+    // @note: The raw body is read as a stream, send the file as-is with curl --data-binary, not as multipart.
+    @PostMapping(value = "import", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<ApiResponse<BankImportJobDto>> importBanks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) throws IOException {
+        var job = bankImportService.importBanks(body, contentType);
+
+        return ApiResponseHandler.payloadSuccess(
+                "Import job %s was accepted, poll import/job for its progress.",
+                HttpStatus.ACCEPTED,
+                job,
+                job.getJobId()
+        );
     }
     // endregion
 
@@ -90,33 +407,46 @@ public class BankController {
     @PutMapping("find/update/id")
     public ResponseEntity<ApiResponse<Boolean>> updateBankByBankId(
             @RequestParam(name = "bankId", required = false, defaultValue = "false") Long bankId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(name = IdempotencyService.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @RequestBody Bank bank
     ) {
-        var updatedBank = bankService.updateBankByBankId(bank, bankId);
+        return idempotencyService.execute(idempotencyKey, () -> {
+            var updatedBank = bankService.updateBankByBankId(bank, bankId, ifMatch);
 
-        if (!updatedBank) {
-            return ApiResponseHandler
-                    .error(String.format("Bank with id %s not found.", bankId),
-                            HttpStatus.NOT_FOUND);
-        }
+            if (!updatedBank) {
+                return ApiResponseHandler
+                        .error(String.format("Bank with id %s not found.", bankId),
+                                HttpStatus.NOT_FOUND);
+            }
 
-        return ApiResponseHandler.success(updatedBank);
+            return ApiResponseHandler.success(updatedBank);
+        }, "update/id", bankId, ifMatch, bank);
     }
 
     @PostMapping("find/update/name")
     public ResponseEntity<ApiResponse<Boolean>> updateBankByBankName(
             @RequestParam(name = "bankName", required = false, defaultValue = "false") String bankName,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(name = IdempotencyService.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @RequestBody Bank bank
     ) {
-        var updatedBank = bankService.updateBankByBankName(bank, bankName);
+        return idempotencyService.execute(idempotencyKey, () -> {
+            var updatedBank = bankService.updateBankByBankName(bank, bankName, ifMatch);
 
-        if (!updatedBank) {
-            return ApiResponseHandler
-                    .error(String.format("Bank with name %s not found.", bankName),
-                            HttpStatus.NOT_FOUND);
-        }
+            if (!updatedBank) {
+                return ApiResponseHandler
+                        .error(String.format("Bank with name %s not found.", bankName),
+                                HttpStatus.NOT_FOUND);
+            }
 
-        return ApiResponseHandler.success(updatedBank);
+            return ApiResponseHandler.success(updatedBank);
+        }, "update/name", bankName, ifMatch, bank);
+    }
+
+    @PutMapping("batch/update")
+    public ResponseEntity<ApiResponse<BankBatchResultDto>> updateBanks(@RequestBody List<Bank> banks) {
+        return batchResponse(bankBatchService.updateBanks(banks));
     }
     // endregion
 
@@ -124,42 +454,51 @@ public class BankController {
     @PatchMapping("find/patch/id")
     public ResponseEntity<ApiResponse<Boolean>> patchBankByBankId(
             @RequestParam(name = "bankId", required = false, defaultValue = "false") Long bankId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(name = IdempotencyService.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @RequestBody Bank bank
     ) {
-        var patchedBank = bankService.patchBankByBankId(bank, bankId);
+        return idempotencyService.execute(idempotencyKey, () -> {
+            var patchedBank = bankService.patchBankByBankId(bank, bankId, ifMatch);
 
-        if (!patchedBank) {
-            return ApiResponseHandler
-                    .error(String.format("Bank with id %s not found.", bankId),
-                            HttpStatus.NOT_FOUND);
-        }
+            if (!patchedBank) {
+                return ApiResponseHandler
+                        .error(String.format("Bank with id %s not found.", bankId),
+                                HttpStatus.NOT_FOUND);
+            }
 
-        return ApiResponseHandler.success(patchedBank);
+            return ApiResponseHandler.success(patchedBank);
+        }, "patch/id", bankId, ifMatch, bank);
     }
 
     @PatchMapping("find/patch/name")
     public ResponseEntity<ApiResponse<Boolean>> patchBankByBankName(
             @RequestParam(name = "bankName", required = false, defaultValue = "false") String bankName,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(name = IdempotencyService.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @RequestBody Bank bank
     ) {
-        var patchedBank = bankService.patchBankByBankName(bank, bankName);
+        return idempotencyService.execute(idempotencyKey, () -> {
+            var patchedBank = bankService.patchBankByBankName(bank, bankName, ifMatch);
 
-        if (!patchedBank) {
-            return ApiResponseHandler
-                    .error(String.format("Bank with name %s not found.", bankName),
-                            HttpStatus.NOT_FOUND);
-        }
+            if (!patchedBank) {
+                return ApiResponseHandler
+                        .error(String.format("Bank with name %s not found.", bankName),
+                                HttpStatus.NOT_FOUND);
+            }
 
-        return ApiResponseHandler.success(patchedBank);
+            return ApiResponseHandler.success(patchedBank);
+        }, "patch/name", bankName, ifMatch, bank);
     }
     // endregion
 
     // region DELETE MAPPINGS
     @DeleteMapping("find/delete/id")
     public ResponseEntity<ApiResponse<Boolean>> deleteBankByBankId(
-            @RequestParam(name = "bankId", required = false, defaultValue = "false") Long bankId
+            @RequestParam(name = "bankId", required = false, defaultValue = "false") Long bankId,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        var deleted = bankService.deleteBankByBankId(bankId);
+        var deleted = bankService.deleteBankByBankId(bankId, ifMatch);
 
         if (!deleted) {
             return ApiResponseHandler
@@ -172,9 +511,10 @@ public class BankController {
 
     @DeleteMapping("find/delete/name")
     public ResponseEntity<ApiResponse<Boolean>> deleteBankByBankName(
-            @RequestParam(name = "bankName", required = false, defaultValue = "false") String bankName
+            @RequestParam(name = "bankName", required = false, defaultValue = "false") String bankName,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        var deleted = bankService.deleteBankByBankName(bankName);
+        var deleted = bankService.deleteBankByBankName(bankName, ifMatch);
 
         if (!deleted) {
             return ApiResponseHandler
@@ -184,5 +524,40 @@ public class BankController {
 
         return ApiResponseHandler.success(deleted);
     }
+
+    @DeleteMapping("batch/delete")
+    public ResponseEntity<ApiResponse<BankBatchResultDto>> deleteBanks(@RequestBody List<Long> bankIds) {
+        return batchResponse(bankBatchService.deleteBanks(bankIds));
+    }
+    // endregion
+
+    // region Helpers
+    // @note: The Accept header joins the variant, the JSON, CBOR, Smile and protobuf bodies are different representations.
+    private boolean isCollectionNotModified(final WebRequest webRequest, final Object... variant) {
+        var version = bankService.findBankVersion();
+        var negotiated = Arrays.copyOf(variant, variant.length + 1);
+        negotiated[variant.length] = webRequest.getHeader(HttpHeaders.ACCEPT);
+
+        return webRequest.checkNotModified(
+                ETagGenerator.forCollection(version, negotiated),
+                ETagGenerator.lastModified(version.getMaxModifiedAt()));
+    }
+
+    private static boolean isBankNotModified(final WebRequest webRequest, final Bank bank) {
+        return webRequest.checkNotModified(
+                ETagGenerator.forBank(bank, webRequest.getHeader(HttpHeaders.ACCEPT)),
+                ETagGenerator.lastModified(bank.getModifiedAt()));
+    }
+
+    private static ResponseEntity<ApiResponse<BankBatchResultDto>> batchResponse(final BankBatchResultDto result) {
+        return ApiResponseHandler.payloadSuccess(
+                "Processed %s bank entities, %s succeeded and %s failed.",
+                HttpStatus.OK,
+                result,
+                result.getItems().size(),
+                result.getSucceeded(),
+                result.getFailed()
+        );
+    }
     // endregion
 }
@@ -0,0 +1,35 @@
+package c303.c303_final.controller;
+
+import c303.c303_final.util.ApiResponse;
+import c303.c303_final.util.ApiResponseHandler;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+
+@RestControllerAdvice(assignableTypes = BankController.class)
+@Profile("!reactive")
+public class BankControllerAdvice {
+    // @note: A failed If-Match precondition is a 412, a conflict the bounded retries could not resolve is a 409.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Boolean>> handleOptimisticLockingFailure(
+            final OptimisticLockingFailureException exception,
+            final WebRequest webRequest
+    ) {
+        var status = webRequest.getHeader(HttpHeaders.IF_MATCH) == null
+                ? HttpStatus.CONFLICT
+                : HttpStatus.PRECONDITION_FAILED;
+
+        return ApiResponseHandler.error("%s", status, exception.getMessage());
+    }
+
+    // @note: Request values the services reject, such as a malformed cursor or an unknown field, are the caller's fault.
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<Boolean>> handleIllegalArgument(final IllegalArgumentException exception) {
+        return ApiResponseHandler.error("%s", HttpStatus.BAD_REQUEST, exception.getMessage());
+    }
+}
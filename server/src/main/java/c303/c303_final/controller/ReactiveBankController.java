@@ -0,0 +1,125 @@
+package c303.c303_final.controller;
+
+import c303.c303_final.model.Bank;
+import c303.c303_final.service.ReactiveBankService;
+import c303.c303_final.util.ApiResponse;
+import c303.c303_final.util.ApiResponseHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequestMapping("api/v1/bank/")
+@RestController
+@Profile("reactive")
+public class ReactiveBankController {
+    private final ReactiveBankService bankService;
+
+    @Autowired
+    public ReactiveBankController(ReactiveBankService bankService) {
+        this.bankService = bankService;
+    }
+
+    // region GET MAPPINGS
+    // @note: The same envelope as the servlet stack, so clients do not change with the profile. Its message carries
+    //        the row count, so the rows are collected first, find/all/stream is the route that never holds them.
+    @GetMapping("find/all")
+    public Mono<ResponseEntity<ApiResponse<List<Bank>>>> findAllBanks() {
+        return bankService.findAllBanks().collectList().map(banks -> banks.isEmpty()
+                ? ApiResponseHandler.collection(
+                        "There are currently no bank entities in the database. Please create one.",
+                        HttpStatus.OK,
+                        banks)
+                : ApiResponseHandler.collection(
+                        "There are currently %s bank entities in the database.",
+                        HttpStatus.OK,
+                        banks,
+                        banks.size()));
+    }
+
+    // @note: Rows are written as R2DBC emits them, and demand from the connection throttles the database reads.
+    @GetMapping(value = "find/all/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Bank> streamAllBanks() {
+        return bankService.findAllBanks();
+    }
+
+    @GetMapping("find/id")
+    public Mono<ResponseEntity<ApiResponse<Bank>>> findBankByBankId(
+            @RequestParam(name = "bankId", required = false, defaultValue = "false") Long bankId
+    ) {
+        return bankService.findBankById(bankId).map(ApiResponseHandler::success);
+    }
+
+    @GetMapping("find/name")
+    public Mono<ResponseEntity<ApiResponse<Bank>>> findBankByBankName(
+            @RequestParam(name = "bankName", required = false, defaultValue = "false") String bankName
+    ) {
+        return bankService.findBankByBankName(bankName).map(ApiResponseHandler::success);
+    }
+    // endregion
+
+    // region POST MAPPING(S)
+    @PostMapping("/add")
+    public Mono<ResponseEntity<ApiResponse<Bank>>> addBank(@RequestBody Bank bank) {
+        return bankService.createBank(bank).map(ApiResponseHandler::success);
+    }
+    // endregion
+
+    // region PUT MAPPINGS
+    @PutMapping("find/update/id")
+    public Mono<ResponseEntity<ApiResponse<Boolean>>> updateBankByBankId(
+            @RequestParam(name = "bankId", required = false, defaultValue = "false") Long bankId,
+            @RequestBody Bank bank
+    ) {
+        return bankService.updateBankByBankId(bank, bankId).map(ApiResponseHandler::success);
+    }
+
+    @PostMapping("find/update/name")
+    public Mono<ResponseEntity<ApiResponse<Boolean>>> updateBankByBankName(
+            @RequestParam(name = "bankName", required = false, defaultValue = "false") String bankName,
+            @RequestBody Bank bank
+    ) {
+        return bankService.updateBankByBankName(bank, bankName).map(ApiResponseHandler::success);
+    }
+    // endregion
+
+    // region PATCH MAPPINGS
+    @PatchMapping("find/patch/id")
+    public Mono<ResponseEntity<ApiResponse<Boolean>>> patchBankByBankId(
+            @RequestParam(name = "bankId", required = false, defaultValue = "false") Long bankId,
+            @RequestBody Bank bank
+    ) {
+        return bankService.patchBankByBankId(bank, bankId).map(ApiResponseHandler::success);
+    }
+
+    @PatchMapping("find/patch/name")
+    public Mono<ResponseEntity<ApiResponse<Boolean>>> patchBankByBankName(
+            @RequestParam(name = "bankName", required = false, defaultValue = "false") String bankName,
+            @RequestBody Bank bank
+    ) {
+        return bankService.patchBankByBankName(bank, bankName).map(ApiResponseHandler::success);
+    }
+    // endregion
+
+    // region DELETE MAPPINGS
+    @DeleteMapping("find/delete/id")
+    public Mono<ResponseEntity<ApiResponse<Boolean>>> deleteBankByBankId(
+            @RequestParam(name = "bankId", required = false, defaultValue = "false") Long bankId
+    ) {
+        return bankService.deleteBankByBankId(bankId).map(ApiResponseHandler::success);
+    }
+
+    @DeleteMapping("find/delete/name")
+    public Mono<ResponseEntity<ApiResponse<Boolean>>> deleteBankByBankName(
+            @RequestParam(name = "bankName", required = false, defaultValue = "false") String bankName
+    ) {
+        return bankService.deleteBankByBankName(bankName).map(ApiResponseHandler::success);
+    }
+    // endregion
+}
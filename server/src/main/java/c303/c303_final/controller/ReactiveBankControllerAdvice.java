@@ -0,0 +1,40 @@
+package c303.c303_final.controller;
+
+import c303.c303_final.util.ApiResponse;
+import c303.c303_final.util.ApiResponseHandler;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+
+@RestControllerAdvice(assignableTypes = ReactiveBankController.class)
+@Profile("reactive")
+public class ReactiveBankControllerAdvice {
+    // @note: The reactive service signals a missing bank as an error rather than an empty Mono.
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<ApiResponse<Boolean>> handleEntityNotFound(final EntityNotFoundException exception) {
+        return ApiResponseHandler.error("%s", HttpStatus.NOT_FOUND, exception.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Boolean>> handleOptimisticLockingFailure(
+            final OptimisticLockingFailureException exception,
+            final ServerWebExchange exchange
+    ) {
+        var status = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_MATCH) == null
+                ? HttpStatus.CONFLICT
+                : HttpStatus.PRECONDITION_FAILED;
+
+        return ApiResponseHandler.error("%s", status, exception.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResponse<Boolean>> handleIllegalArgument(final IllegalArgumentException exception) {
+        return ApiResponseHandler.error("%s", HttpStatus.BAD_REQUEST, exception.getMessage());
+    }
+}
@@ -0,0 +1,25 @@
+package c303.c303_final.datasource;
+
+/**
+ * Marks the current thread as one whose reads have to see writes a replica may not have replayed yet. While it
+ * is set, {@link ReplicaDataSource} hands out primary connections for read-only transactions too.
+ */
+public final class PrimaryReads {
+    private static final ThreadLocal<Boolean> REQUIRED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+        // Private constructor to prevent class instantiation.
+    }
+
+    public static void require() {
+        REQUIRED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        REQUIRED.remove();
+    }
+
+    public static boolean isRequired() {
+        return REQUIRED.get() != null;
+    }
+}
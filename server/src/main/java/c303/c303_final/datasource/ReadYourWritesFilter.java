@@ -0,0 +1,70 @@
+package c303.c303_final.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes on top of replica reads. A write request gives the client a cookie that lasts the configured
+ * window, and while the client sends it back its reads stay on the primary, so it never reads from a replica that
+ * has not replayed its own write yet. The write request itself reads from the primary as well. A POST that only
+ * reads, like a multi-get whose keys do not fit a query string, is treated as the read it is.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    //region DEFAULT(S)
+    public static final String COOKIE_NAME = "bank-read-primary";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+    private static final Set<String> READ_ONLY_PATHS = Set.of("/api/v1/bank/find/many");
+    //endregion
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(final Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var writing = !SAFE_METHODS.contains(request.getMethod()) && !READ_ONLY_PATHS.contains(request.getServletPath());
+
+        // @note: Set before the chain runs, the response is usually committed by the time it returns.
+        if (writing) {
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE_NAME, "1")
+                    .maxAge(window)
+                    .path("/")
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+        }
+
+        if (!writing && WebUtils.getCookie(request, COOKIE_NAME) == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        PrimaryReads.require();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryReads.clear();
+        }
+    }
+
+    // @note: A zero window turns stickiness off, every read-only transaction then goes to a replica.
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return window.isZero();
+    }
+}
@@ -0,0 +1,105 @@
+package c303.c303_final.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connections for read-only transactions, handed out round-robin from the replicas that passed their last health
+ * check. A replica that fails to give a connection leaves the rotation until a health check reaches it again.
+ * The primary serves the read instead when no replica is left, or when the caller has to read its own writes.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+    //region DEFAULT(S)
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+    //endregion
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+    private final Counter failovers;
+
+    public ReplicaDataSource(final DataSource primary, final List<HikariDataSource> replicas, final MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.replicaReads = meterRegistry.counter("bank.datasource.reads", "target", "replica");
+        this.primaryReads = meterRegistry.counter("bank.datasource.reads", "target", "primary");
+        this.failovers = meterRegistry.counter("bank.datasource.failovers");
+        meterRegistry.gauge("bank.datasource.replicas.healthy", this, ReplicaDataSource::healthyReplicas);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!PrimaryReads.isRequired()) {
+            var start = Math.floorMod(next.getAndIncrement(), replicas.size());
+
+            for (int i = 0; i < replicas.size(); i++) {
+                var replica = replicas.get((start + i) % replicas.size());
+
+                if (!replica.healthy) {
+                    continue;
+                }
+
+                try {
+                    var connection = replica.dataSource.getConnection();
+                    replicaReads.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.healthy = false;
+                    failovers.increment();
+                }
+            }
+        }
+
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections always use the configured credentials.");
+    }
+
+    // @note: Checks every replica, so one that went down between reads is noticed too, not only brought back.
+    @Scheduled(fixedDelayString = "${bank.datasource.health-check-interval:PT5S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (var connection = replica.dataSource.getConnection()) {
+                replica.healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                replica.healthy = false;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    // region Helpers
+    private int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(final HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,34 @@
+package c303.c303_final.datasource;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE;
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_CACHE_STORE_MODE;
+
+/**
+ * Keeps replica reads out of the second-level and query caches. A read-only transaction that is not bound to the
+ * primary reads from a replica that may not have replayed recent writes yet, what it caches would be served to
+ * the clients that have to read their own writes. Such a transaction neither reads from nor writes to the caches.
+ */
+public class ReplicaReadsJpaDialect extends HibernateJpaDialect {
+    @Override
+    public Object beginTransaction(final EntityManager entityManager, final TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        var transactionData = super.beginTransaction(entityManager, definition);
+
+        // @note: Retrieval is bypassed too, Hibernate still puts a query cache miss when the cache mode only allows
+        //        gets. Set as entity manager properties, queries take their cache modes from them when created.
+        if (definition.isReadOnly() && !PrimaryReads.isRequired()) {
+            entityManager.setProperty(HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+            entityManager.setProperty(HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        }
+        return transactionData;
+    }
+}
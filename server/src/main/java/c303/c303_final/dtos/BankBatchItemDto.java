@@ -0,0 +1,14 @@
+package c303.c303_final.dtos;
+
+import lombok.Value;
+
+import java.io.Serializable;
+
+@Value
+public class BankBatchItemDto implements Serializable {
+    // @note: Position of the item in the submitted array.
+    Integer index;
+    Long bankId;
+    Boolean success;
+    String message;
+}
@@ -0,0 +1,15 @@
+package c303.c303_final.dtos;
+
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Value
+public class BankBatchResultDto implements Serializable {
+    List<BankBatchItemDto> items;
+    Integer succeeded;
+    Integer failed;
+    Long elapsedMillis;
+    Double rowsPerSecond;
+}
@@ -0,0 +1,15 @@
+package c303.c303_final.dtos;
+
+import lombok.Value;
+
+import java.io.Serializable;
+
+@Value
+public class BankCacheStatsDto implements Serializable {
+    String index;
+    Long size;
+    Long hitCount;
+    Long missCount;
+    Long evictionCount;
+    Double hitRate;
+}
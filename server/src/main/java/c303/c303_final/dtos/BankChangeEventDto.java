@@ -0,0 +1,17 @@
+package c303.c303_final.dtos;
+
+import c303.c303_final.model.Bank;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Value
+public class BankChangeEventDto implements Serializable {
+    Long sequence;
+    String type;
+    Long bankId;
+    Bank bank;
+    Integer count;
+    Instant occurredAt;
+}
@@ -0,0 +1,12 @@
+package c303.c303_final.dtos;
+
+import lombok.Value;
+
+import java.io.Serializable;
+
+@Value
+public class BankDecadeCountDto implements Serializable {
+    // @note: First year of the decade, 1990 covers 1990 to 1999.
+    Integer decade;
+    Long count;
+}
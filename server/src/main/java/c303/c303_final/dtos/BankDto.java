@@ -1,14 +1,15 @@
 package c303.c303_final.dtos;
 
-import c303.c303_final.model.Employee;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Value;
 
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.Date;
-import java.util.List;
 
+// @note: Fields that were not selected are left null and omitted from the serialized output.
 @Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class BankDto implements Serializable {
     Long bankId;
     String bankName;
@@ -16,7 +17,7 @@ public class BankDto implements Serializable {
     String bankAddress;
     Integer bankAtms;
     Integer bankBranches;
-    List<Employee> bankEmployees;
+    Integer bankEmployees;
     Instant CreatedAt;
     Instant ModifiedAt;
-}
\ No newline at end of file
+}
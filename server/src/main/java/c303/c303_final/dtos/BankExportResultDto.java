@@ -0,0 +1,15 @@
+package c303.c303_final.dtos;
+
+import lombok.Value;
+
+import java.io.Serializable;
+
+@Value
+public class BankExportResultDto implements Serializable {
+    String path;
+    String format;
+    Boolean gzip;
+    Long rows;
+    Long bytes;
+    Long elapsedMillis;
+}
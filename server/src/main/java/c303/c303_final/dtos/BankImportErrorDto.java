@@ -0,0 +1,12 @@
+package c303.c303_final.dtos;
+
+import lombok.Value;
+
+import java.io.Serializable;
+
+@Value
+public class BankImportErrorDto implements Serializable {
+    // @note: 1-based line number in the uploaded file, the CSV header counts as line 1.
+    Long line;
+    String message;
+}
@@ -0,0 +1,19 @@
+package c303.c303_final.dtos;
+
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Value
+public class BankImportJobDto implements Serializable {
+    String jobId;
+    String status;
+    Long rowsRead;
+    Long rowsImported;
+    Long rowsFailed;
+    Long elapsedMillis;
+    Double rowsPerSecond;
+    // @note: Only the first bank.import.max-errors failures are kept, rowsFailed has the full count.
+    List<BankImportErrorDto> errors;
+}
@@ -0,0 +1,16 @@
+package c303.c303_final.dtos;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Value
+@Builder
+@Jacksonized
+public class BankLookupDto implements Serializable {
+    List<Long> bankIds;
+    List<String> bankNames;
+}
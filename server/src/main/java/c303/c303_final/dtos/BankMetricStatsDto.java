@@ -0,0 +1,13 @@
+package c303.c303_final.dtos;
+
+import lombok.Value;
+
+import java.io.Serializable;
+
+@Value
+public class BankMetricStatsDto implements Serializable {
+    Long sum;
+    Double average;
+    Integer min;
+    Integer max;
+}
@@ -0,0 +1,17 @@
+package c303.c303_final.dtos;
+
+import c303.c303_final.model.Bank;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+@Value
+public class BankMultiGetDto implements Serializable {
+    // @note: Keyed in request order, a key that matched nothing is listed under missing instead of failing the call.
+    Map<Long, Bank> banksById;
+    Map<String, Bank> banksByName;
+    List<Long> missingIds;
+    List<String> missingNames;
+}
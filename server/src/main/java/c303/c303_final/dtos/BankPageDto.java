@@ -0,0 +1,15 @@
+package c303.c303_final.dtos;
+
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Value
+public class BankPageDto implements Serializable {
+    List<BankDto> banks;
+    Integer pageSize;
+
+    // @note: Opaque continuation token, null when there are no further pages.
+    String nextCursor;
+}
@@ -0,0 +1,21 @@
+package c303.c303_final.dtos;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.Date;
+
+@Value
+@Builder
+public class BankSearchCriteriaDto implements Serializable {
+    String namePrefix;
+    Date yearFrom;
+    Date yearTo;
+    Integer minAtms;
+    Integer maxAtms;
+    Integer minBranches;
+    Integer maxBranches;
+    Integer minEmployees;
+    Integer maxEmployees;
+}
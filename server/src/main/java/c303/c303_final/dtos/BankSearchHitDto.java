@@ -0,0 +1,15 @@
+package c303.c303_final.dtos;
+
+import lombok.Value;
+
+import java.io.Serializable;
+
+@Value
+public class BankSearchHitDto implements Serializable {
+    Long bankId;
+    String bankName;
+    String bankAddress;
+    String field; // @note: The field that matched, name or address.
+    String match; // @note: prefix, word, substring or typo, in the order hits are ranked.
+    Integer typos;
+}
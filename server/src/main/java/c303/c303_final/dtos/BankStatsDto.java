@@ -0,0 +1,14 @@
+package c303.c303_final.dtos;
+
+import c303.c303_final.model.Bank;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Value
+public class BankStatsDto implements Serializable {
+    BankTotalsDto totals;
+    List<BankDecadeCountDto> decades;
+    List<Bank> topByAtms;
+}
@@ -0,0 +1,13 @@
+package c303.c303_final.dtos;
+
+import lombok.Value;
+
+import java.io.Serializable;
+
+@Value
+public class BankTotalsDto implements Serializable {
+    Long count;
+    BankMetricStatsDto atms;
+    BankMetricStatsDto branches;
+    BankMetricStatsDto employees;
+}
@@ -0,0 +1,13 @@
+package c303.c303_final.dtos;
+
+import lombok.Value;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+// @note: Cheap aggregate version of the whole bank table, changes whenever a bank is created, modified or deleted.
+@Value
+public class BankVersionDto implements Serializable {
+    Long count;
+    Instant maxModifiedAt;
+}
@@ -0,0 +1,158 @@
+package c303.c303_final.export;
+
+import c303.c303_final.model.Bank;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compact, Parquet-style columnar encoding of the bank table. Rows are buffered into row groups and each
+ * group is written column by column, which keeps similar values together and makes the output compress well.
+ * <pre>
+ * file      := "BANKCOL1" varint(columnCount) (string(name) byte(type))* rowGroup* varint(0)
+ * rowGroup  := varint(rowCount) column*
+ * column    := nullBitmap[(rowCount + 7) / 8] value* (one value per non-null row)
+ * LONG  (1) := zigzag varlong delta from the previous non-null value of the column in the group
+ * INT   (2) := zigzag varint
+ * STRING(3) := varint(byteLength) UTF-8 bytes
+ * </pre>
+ * Dates and instants are stored as epoch milliseconds. All varints are unsigned LEB128.
+ */
+public class BankColumnarWriter implements BankExportWriter {
+    //region DEFAULT(S)
+    private static final byte[] MAGIC = "BANKCOL1".getBytes(StandardCharsets.US_ASCII);
+    private static final int ROW_GROUP_SIZE = 4096;
+    private static final byte TYPE_LONG = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_STRING = 3;
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("bankId", TYPE_LONG, Bank::getBankId),
+            new Column("bankName", TYPE_STRING, Bank::getBankName),
+            new Column("bankYear", TYPE_LONG, bank -> epochMillis(bank.getBankYear())),
+            new Column("bankAddress", TYPE_STRING, Bank::getBankAddress),
+            new Column("bankAtms", TYPE_INT, Bank::getBankAtms),
+            new Column("bankBranches", TYPE_INT, Bank::getBankBranches),
+            new Column("bankEmployees", TYPE_INT, Bank::getBankEmployees),
+            new Column("version", TYPE_LONG, Bank::getVersion),
+            new Column("createdAt", TYPE_LONG, bank -> epochMillis(bank.getCreatedAt())),
+            new Column("modifiedAt", TYPE_LONG, bank -> epochMillis(bank.getModifiedAt()))
+    );
+    //endregion
+
+    private final OutputStream outputStream;
+    private final List<Bank> rowGroup = new ArrayList<>(ROW_GROUP_SIZE);
+
+    public BankColumnarWriter(final OutputStream outputStream) throws IOException {
+        this.outputStream = new BufferedOutputStream(outputStream, 1 << 16);
+
+        this.outputStream.write(MAGIC);
+        writeVarLong(COLUMNS.size());
+        for (Column column : COLUMNS) {
+            writeString(column.name());
+            this.outputStream.write(column.type());
+        }
+
+        // @note: Push the header out straight away so the first byte does not wait for a full row group.
+        this.outputStream.flush();
+    }
+
+    @Override
+    public void write(final Bank bank) throws IOException {
+        rowGroup.add(bank);
+
+        if (rowGroup.size() == ROW_GROUP_SIZE) {
+            writeRowGroup();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!rowGroup.isEmpty()) {
+            writeRowGroup();
+        }
+
+        writeVarLong(0);
+        outputStream.flush();
+    }
+
+    // region Helpers
+    private void writeRowGroup() throws IOException {
+        writeVarLong(rowGroup.size());
+
+        for (Column column : COLUMNS) {
+            var values = new Object[rowGroup.size()];
+            var nullBitmap = new byte[(rowGroup.size() + 7) / 8];
+
+            for (int i = 0; i < values.length; i++) {
+                values[i] = column.extractor().apply(rowGroup.get(i));
+                if (values[i] == null) {
+                    nullBitmap[i >>> 3] |= (byte) (1 << (i & 7));
+                }
+            }
+
+            outputStream.write(nullBitmap);
+            writeValues(column.type(), values);
+        }
+
+        rowGroup.clear();
+    }
+
+    private void writeValues(final byte type, final Object[] values) throws IOException {
+        var previous = 0L;
+
+        for (Object value : values) {
+            if (value == null) {
+                continue;
+            }
+
+            switch (type) {
+                case TYPE_LONG -> {
+                    var current = (Long) value;
+                    writeVarLong(zigzag(current - previous));
+                    previous = current;
+                }
+                case TYPE_INT -> writeVarLong(zigzag((Integer) value));
+                default -> writeString((String) value);
+            }
+        }
+    }
+
+    private void writeString(final String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        writeVarLong(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            outputStream.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        outputStream.write((int) value);
+    }
+
+    private static long zigzag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static Long epochMillis(final Date date) {
+        return date == null ? null : date.getTime();
+    }
+
+    private static Long epochMillis(final Instant instant) {
+        return instant == null ? null : instant.toEpochMilli();
+    }
+
+    private record Column(String name, byte type, Function<Bank, Object> extractor) {
+    }
+    // endregion
+}
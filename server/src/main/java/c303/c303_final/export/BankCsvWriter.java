@@ -0,0 +1,60 @@
+package c303.c303_final.export;
+
+import c303.c303_final.model.Bank;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+// @note: Column names match the import header, so an export can be fed straight back into import.
+public class BankCsvWriter implements BankExportWriter {
+    //region DEFAULT(S)
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private static final CsvSchema BANK_SCHEMA = CsvSchema.builder()
+            .addColumn("bankId")
+            .addColumn("bankName")
+            .addColumn("bankYear")
+            .addColumn("bankAddress")
+            .addColumn("bankAtms")
+            .addColumn("bankBranches")
+            .addColumn("bankEmployees")
+            .addColumn("version")
+            .addColumn("createdAt")
+            .addColumn("modifiedAt")
+            .build();
+    //endregion
+
+    private final SequenceWriter sequenceWriter;
+
+    public BankCsvWriter(final OutputStream outputStream) throws IOException {
+        // @note: The header is written and flushed by hand so the first byte does not wait on the first row.
+        var header = new StringJoiner(",", "", "\n");
+        BANK_SCHEMA.forEach(column -> header.add(column.getName()));
+        outputStream.write(header.toString().getBytes(StandardCharsets.UTF_8));
+        outputStream.flush();
+
+        this.sequenceWriter = CSV_MAPPER.writerFor(Bank.class)
+                .with(BANK_SCHEMA)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(outputStream);
+    }
+
+    @Override
+    public void write(final Bank bank) throws IOException {
+        sequenceWriter.write(bank);
+    }
+
+    @Override
+    public void close() throws IOException {
+        sequenceWriter.close();
+    }
+}
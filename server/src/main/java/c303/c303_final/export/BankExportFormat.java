@@ -0,0 +1,50 @@
+package c303.c303_final.export;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+public enum BankExportFormat {
+    CSV("text/csv", ".csv") {
+        @Override
+        public BankExportWriter writer(final OutputStream outputStream) throws IOException {
+            return new BankCsvWriter(outputStream);
+        }
+    },
+    COLUMNAR("application/vnd.bank.columnar", ".bcol") {
+        @Override
+        public BankExportWriter writer(final OutputStream outputStream) throws IOException {
+            return new BankColumnarWriter(outputStream);
+        }
+    };
+
+    private static final String FORMAT_NOT_SUPPORTED = "Export format %s is not supported, use csv or columnar.";
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    BankExportFormat(final String mediaType, final String extension) {
+        this.mediaType = MediaType.valueOf(mediaType);
+        this.extension = extension;
+    }
+
+    public abstract BankExportWriter writer(OutputStream outputStream) throws IOException;
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static BankExportFormat fromParam(final String format) {
+        try {
+            return format == null ? CSV : valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format(FORMAT_NOT_SUPPORTED, format), e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package c303.c303_final.export;
+
+import c303.c303_final.model.Bank;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// @note: Writes banks one at a time as they come off the cursor, close() finishes the format but not the stream.
+public interface BankExportWriter extends Closeable {
+    void write(Bank bank) throws IOException;
+}
@@ -0,0 +1,47 @@
+package c303.c303_final.feed;
+
+import c303.c303_final.model.Bank;
+
+import java.time.Instant;
+
+/**
+ * Application event published by the bank write paths once a change is committed. Inserts carry the full row,
+ * updates only the fields that were written, deletes just the id and bulk writes only how many rows they touched.
+ */
+public record BankChange(Type type, Long bankId, Bank bank, Integer count) {
+    public enum Type {
+        INSERT,
+        UPDATE,
+        DELETE,
+        // @note: Batch and import writes, subscribers reload instead of receiving one delta per row.
+        BULK
+    }
+
+    public static BankChange inserted(final Bank bank) {
+        return new BankChange(Type.INSERT, bank.getBankId(), bank, null);
+    }
+
+    public static BankChange updated(final Long bankId, final Bank patch, final Instant modifiedAt, final Long version) {
+        var fields = Bank.builder()
+                .bankId(bankId)
+                .bankName(patch.getBankName())
+                .bankYear(patch.getBankYear())
+                .bankAddress(patch.getBankAddress())
+                .bankAtms(patch.getBankAtms())
+                .bankBranches(patch.getBankBranches())
+                .bankEmployees(patch.getBankEmployees())
+                .version(version)
+                .ModifiedAt(modifiedAt)
+                .build();
+
+        return new BankChange(Type.UPDATE, bankId, fields, null);
+    }
+
+    public static BankChange deleted(final Long bankId) {
+        return new BankChange(Type.DELETE, bankId, null, null);
+    }
+
+    public static BankChange bulk(final int count) {
+        return new BankChange(Type.BULK, null, null, count);
+    }
+}
@@ -0,0 +1,205 @@
+package c303.c303_final.feed;
+
+import c303.c303_final.dtos.BankChangeEventDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans committed bank changes out to server-sent event subscribers. Every change gets the next sequence number,
+ * is serialized exactly once and is kept in a fixed-size history, so a reconnecting client resumes from its
+ * Last-Event-ID without a query. Event ids are {@code <epoch>-<sequence>}, the epoch is drawn once per boot. A
+ * client that asks for another epoch, a sequence no longer in the history, or one further behind than its
+ * buffer allows, receives a reset event and reloads the banks instead.
+ */
+@Component
+@Profile("!reactive")
+public class BankChangeFeed {
+    //region DEFAULT(S)
+    public static final String EVENT_BANK = "bank";
+    public static final String EVENT_SYNC = "sync";
+    public static final String EVENT_RESET = "reset";
+
+    private static final String SEQUENCE_DATA = "{\"epoch\":\"%s\",\"sequence\":%s}";
+    //endregion
+
+    // @note: Sequences restart at 0 on every boot, and every instance counts its own. Without the epoch a client
+    //        resuming against a restarted or different server could match a sequence that means other changes.
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE);
+    private final ObjectWriter eventWriter;
+    private final FeedEntry[] history;
+    private final int subscriberBuffer;
+    private final long timeoutMillis;
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeat;
+    private final Set<BankChangeSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter published;
+    private final Counter dropped;
+    private long sequence; // @note: Guarded by this, as are the history slots.
+
+    @Autowired
+    public BankChangeFeed(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${bank.feed.history:10000}") int historySize,
+            @Value("${bank.feed.subscriber-buffer:256}") int subscriberBuffer,
+            @Value("${bank.feed.timeout:PT30M}") Duration timeout,
+            @Value("${bank.feed.heartbeat:PT15S}") Duration heartbeatInterval,
+            @Value("${bank.feed.sender-threads:4}") int senderThreads
+    ) {
+        // @note: Deltas leave out the fields they did not change rather than sending them as null.
+        this.eventWriter = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .writerFor(BankChangeEventDto.class);
+        this.history = new FeedEntry[historySize];
+        this.subscriberBuffer = subscriberBuffer;
+        this.timeoutMillis = timeout.toMillis();
+        this.sender = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("bank-feed-sender-"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("bank-feed-heartbeat-"));
+        this.published = meterRegistry.counter("bank.feed.events", "outcome", "published");
+        this.dropped = meterRegistry.counter("bank.feed.events", "outcome", "dropped");
+        meterRegistry.gaugeCollectionSize("bank.feed.subscribers", List.of(), subscribers);
+
+        var interval = heartbeatInterval.toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    // @note: Runs after the surrounding transaction commits, rolled back writes never reach a dashboard. Writes
+    //        outside a transaction are published right away, they are already committed.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBankChange(final BankChange change) {
+        var occurredAt = Instant.now();
+
+        synchronized (this) {
+            var next = sequence + 1;
+            var event = new BankChangeEventDto(
+                    next, change.type().name(), change.bankId(), change.bank(), change.count(), occurredAt);
+            var entry = new FeedEntry(eventId(next), EVENT_BANK, serialize(event));
+
+            sequence = next;
+            history[(int) (next % history.length)] = entry;
+            published.increment();
+
+            for (BankChangeSubscriber subscriber : subscribers) {
+                if (!subscriber.enqueue(entry)) {
+                    subscribers.remove(subscriber);
+                    dropped.increment();
+                }
+            }
+        }
+    }
+
+    // @note: A null lastEventId is a fresh dashboard, it gets a sync event and loads the banks once it has, so no
+    //        change can fall between its snapshot and the subscription.
+    public SseEmitter subscribe(final String lastEventId) {
+        var emitter = new SseEmitter(timeoutMillis);
+        var subscriber = new BankChangeSubscriber(emitter, subscriberBuffer, sender);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            var backlog = lastEventId == null ? null : backlog(lastEventId);
+
+            if (lastEventId == null) {
+                subscriber.enqueue(control(EVENT_SYNC));
+            } else if (backlog == null) {
+                subscriber.enqueue(control(EVENT_RESET));
+            } else {
+                backlog.forEach(subscriber::enqueue);
+            }
+
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscribers.forEach(BankChangeSubscriber::close);
+        subscribers.clear();
+        sender.shutdown();
+    }
+
+    // region Helpers
+    // @note: Null when the client cannot resume, its id is from another epoch or not one this feed issued, or it
+    //        missed more than the history holds or its buffer would take.
+    private List<FeedEntry> backlog(final String lastEventId) {
+        var separator = lastEventId.lastIndexOf('-');
+
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return null;
+        }
+
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        var missed = sequence - lastSequence;
+
+        if (missed < 0 || missed > history.length || missed > subscriberBuffer) {
+            return null;
+        }
+
+        var backlog = new ArrayList<FeedEntry>((int) missed);
+        for (long next = lastSequence + 1; next <= sequence; next++) {
+            backlog.add(history[(int) (next % history.length)]);
+        }
+        return backlog;
+    }
+
+    private FeedEntry control(final String name) {
+        return new FeedEntry(eventId(sequence), name, SEQUENCE_DATA.formatted(epoch, sequence));
+    }
+
+    private String eventId(final long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    private void sendHeartbeat() {
+        for (BankChangeSubscriber subscriber : subscribers) {
+            if (!subscriber.enqueue(FeedEntry.HEARTBEAT)) {
+                subscribers.remove(subscriber);
+                dropped.increment();
+            }
+        }
+    }
+
+    private String serialize(final BankChangeEventDto event) {
+        try {
+            return eventWriter.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,89 @@
+package c303.c303_final.feed;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A connected dashboard. Events wait in a bounded queue and are written by the shared sender pool, so a
+ * publisher never blocks on a client socket. A subscriber whose queue is full has fallen too far behind and
+ * is disconnected, it reconnects with Last-Event-ID and either resumes from history or is told to reload.
+ */
+class BankChangeSubscriber {
+    private final SseEmitter emitter;
+    private final BlockingQueue<FeedEntry> queue;
+    private final Executor sender;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    BankChangeSubscriber(final SseEmitter emitter, final int bufferSize, final Executor sender) {
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+    }
+
+    // @note: Returns false once the subscriber is closed, dropped for being too slow or its client went away.
+    boolean enqueue(final FeedEntry entry) {
+        if (closed) {
+            return false;
+        }
+
+        if (!queue.offer(entry)) {
+            close();
+            return false;
+        }
+
+        scheduleDrain();
+        return true;
+    }
+
+    void close() {
+        closed = true;
+        queue.clear();
+        emitter.complete();
+    }
+
+    // region Helpers
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            FeedEntry entry;
+            while (!closed && (entry = queue.poll()) != null) {
+                send(entry);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // @note: The client went away, the emitter callbacks take it off the subscriber list.
+            closed = true;
+            queue.clear();
+        } finally {
+            draining.set(false);
+        }
+
+        // @note: An entry may have been queued after the loop saw an empty queue but before draining was reset.
+        if (!closed && !queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private void send(final FeedEntry entry) throws IOException {
+        if (entry == FeedEntry.HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+            return;
+        }
+
+        emitter.send(SseEmitter.event()
+                .id(entry.id())
+                .name(entry.name())
+                .data(entry.data()));
+    }
+    // endregion
+}
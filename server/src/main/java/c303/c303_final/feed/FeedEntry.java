@@ -0,0 +1,8 @@
+package c303.c303_final.feed;
+
+/**
+ * One server-sent event, serialized once when it is published and then written as-is to every subscriber.
+ */
+record FeedEntry(String id, String name, String data) {
+    static final FeedEntry HEARTBEAT = new FeedEntry(null, null, null);
+}
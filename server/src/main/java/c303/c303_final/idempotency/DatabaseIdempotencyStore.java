@@ -0,0 +1,86 @@
+package c303.c303_final.idempotency;
+
+import c303.c303_final.model.IdempotencyRecord;
+import c303.c303_final.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Keeps completed responses in the idempotency_record table so a retry that lands on another instance, or
+ * after a restart, is still replayed. A key is reserved by inserting its row before the write runs, so two
+ * instances never both run it. Expired rows are ignored on read and purged on a fixed delay.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "bank.idempotency.store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Duration retention;
+    private final Duration inFlightTimeout;
+
+    @Autowired
+    public DatabaseIdempotencyStore(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            @Value("${bank.idempotency.retention:PT24H}") Duration retention,
+            @Value("${bank.idempotency.in-flight-timeout:PT1M}") Duration inFlightTimeout
+    ) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.retention = retention;
+        this.inFlightTimeout = inFlightTimeout;
+    }
+
+    @Override
+    public IdempotentResponse find(final String key) {
+        return idempotencyRecordRepository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(Instant.now()))
+                .map(record -> new IdempotentResponse(record.getFingerprint(), record.getStatus(), record.getResponseBody()))
+                .orElse(null);
+    }
+
+    @Override
+    public boolean reserve(final String key, final String fingerprint) {
+        var now = Instant.now();
+
+        // @note: A reservation left by an instance that died mid-write is taken over once its timeout has passed.
+        idempotencyRecordRepository.deleteExpired(key, now);
+
+        try {
+            idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                    .idempotencyKey(key)
+                    .fingerprint(fingerprint)
+                    .status(IdempotentResponse.IN_FLIGHT)
+                    .responseBody(new byte[0])
+                    .expiresAt(now.plus(inFlightTimeout))
+                    .build());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // @note: The key is already in the table, another request is running the write or has completed it.
+            return false;
+        }
+    }
+
+    @Override
+    public void save(final String key, final IdempotentResponse response) {
+        idempotencyRecordRepository.complete(key, response.status(), response.body(), Instant.now().plus(retention));
+    }
+
+    @Override
+    public void release(final String key) {
+        idempotencyRecordRepository.deleteByKeyAndStatus(key, IdempotentResponse.IN_FLIGHT);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${bank.idempotency.purge-interval:PT5M}")
+    public void purgeExpired() {
+        idempotencyRecordRepository.deleteExpired(Instant.now());
+    }
+}
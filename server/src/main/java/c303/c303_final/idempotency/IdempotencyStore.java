@@ -0,0 +1,20 @@
+package c303.c303_final.idempotency;
+
+/**
+ * Completed responses keyed by {@code Idempotency-Key}. Implementations are bounded and drop entries once the
+ * retention window has passed, a key seen again after that is treated as a new request.
+ */
+public interface IdempotencyStore {
+    IdempotentResponse find(String key);
+
+    /**
+     * Claims the key for a write that is about to run, visible to every instance sharing the store. Returns false
+     * when another request already holds the key or has completed it.
+     */
+    boolean reserve(String key, String fingerprint);
+
+    void save(String key, IdempotentResponse response);
+
+    /** Drops the reservation of a write that failed, so the client may retry the key. */
+    void release(String key);
+}
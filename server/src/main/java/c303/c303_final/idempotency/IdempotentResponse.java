@@ -0,0 +1,18 @@
+package c303.c303_final.idempotency;
+
+/**
+ * A completed write as the dedup store keeps it: the fingerprint of the request that produced it, and the
+ * status and serialized {@code ApiResponse} body to replay for later requests carrying the same key.
+ */
+public record IdempotentResponse(String fingerprint, int status, byte[] body) {
+    // @note: A reserved key whose write is still running, 0 is never a real HTTP status.
+    public static final int IN_FLIGHT = 0;
+
+    public static IdempotentResponse inFlight(final String fingerprint) {
+        return new IdempotentResponse(fingerprint, IN_FLIGHT, new byte[0]);
+    }
+
+    public boolean isInFlight() {
+        return status == IN_FLIGHT;
+    }
+}
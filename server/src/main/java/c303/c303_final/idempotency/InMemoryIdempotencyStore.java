@@ -0,0 +1,55 @@
+package c303.c303_final.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "bank.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final Cache<String, IdempotentResponse> responses;
+
+    @Autowired
+    public InMemoryIdempotencyStore(
+            @Value("${bank.idempotency.maximum-size:10000}") long maximumSize,
+            @Value("${bank.idempotency.retention:PT24H}") Duration retention,
+            MeterRegistry meterRegistry
+    ) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(retention)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "banks.idempotency");
+    }
+
+    @Override
+    public IdempotentResponse find(final String key) {
+        return responses.getIfPresent(key);
+    }
+
+    @Override
+    public boolean reserve(final String key, final String fingerprint) {
+        return responses.asMap().putIfAbsent(key, IdempotentResponse.inFlight(fingerprint)) == null;
+    }
+
+    @Override
+    public void save(final String key, final IdempotentResponse response) {
+        responses.put(key, response);
+    }
+
+    @Override
+    public void release(final String key) {
+        responses.asMap().computeIfPresent(key, (k, response) -> response.isInFlight() ? null : response);
+    }
+}
@@ -0,0 +1,29 @@
+package c303.c303_final.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class QueryCountInspector implements StatementInspector {
+    // @note: Hibernate instantiates this class itself, so the request's counter is bound to a static thread-local.
+    //        Threads with nothing bound, such as import jobs or the micro-batcher's scheduler, are not counted.
+    private static final ThreadLocal<AtomicInteger> QUERY_COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(final String sql) {
+        var count = QUERY_COUNT.get();
+
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static void bind(final AtomicInteger count) {
+        QUERY_COUNT.set(count);
+    }
+
+    public static void clear() {
+        QUERY_COUNT.remove();
+    }
+}
@@ -0,0 +1,97 @@
+package c303.c303_final.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the SQL statements a request issued. The counter lives in a request attribute, so a
+ * {@code StreamingResponseBody} or {@code Callable} that runs on an async thread is bound to the same counter,
+ * and the count is recorded once, when the async dispatch completes. A micro-batched id lookup is counted
+ * against none of the requests it serves, since its query runs on the batcher's own thread.
+ */
+public class QueryCountInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+    private static final String QUERIES_PER_REQUEST = "bank.requests.queries";
+    private static final String QUERY_COUNT_ATTRIBUTE = QueryCountInterceptor.class.getName() + ".count";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // region HandlerInterceptor
+    @Override
+    public boolean preHandle(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Object handler
+    ) {
+        // @note: An async dispatch runs the interceptors again, it keeps counting into the original counter.
+        var count = (AtomicInteger) request.getAttribute(QUERY_COUNT_ATTRIBUTE);
+
+        if (count == null) {
+            count = new AtomicInteger();
+            request.setAttribute(QUERY_COUNT_ATTRIBUTE, count);
+        }
+
+        QueryCountInspector.bind(count);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Object handler
+    ) {
+        QueryCountInspector.clear();
+    }
+
+    @Override
+    public void afterCompletion(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Object handler,
+            final Exception ex
+    ) {
+        var count = (AtomicInteger) request.getAttribute(QUERY_COUNT_ATTRIBUTE);
+
+        if (handler instanceof HandlerMethod handlerMethod && count != null) {
+            DistributionSummary.builder(QUERIES_PER_REQUEST)
+                    .description("SQL statements issued while handling a single request.")
+                    .tag("method", handlerMethod.getMethod().getName())
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry)
+                    .record(count.get());
+        }
+
+        QueryCountInspector.clear();
+    }
+    // endregion
+
+    // region CallableProcessingInterceptor
+    @Override
+    public <T> void preProcess(final NativeWebRequest request, final Callable<T> task) {
+        var count = (AtomicInteger) request.getAttribute(QUERY_COUNT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+        if (count != null) {
+            QueryCountInspector.bind(count);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(final NativeWebRequest request, final Callable<T> task, final Object concurrentResult) {
+        QueryCountInspector.clear();
+    }
+    // endregion
+}
@@ -3,6 +3,9 @@ package c303.c303_final.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
@@ -16,8 +19,22 @@ import java.util.Date;
 @ToString
 @Builder
 @Entity
-@Table(name = "bank")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Bank.CACHE_REGION)
+@Table(name = "bank", indexes = {
+        @Index(name = "idx_bank_name", columnList = "bank_name"),
+        @Index(name = "idx_bank_year", columnList = "bank_year"),
+        @Index(name = "idx_bank_atms", columnList = "bank_atms"),
+        @Index(name = "idx_bank_branches", columnList = "bank_branches"),
+        @Index(name = "idx_bank_employees", columnList = "bank_employees"),
+        @Index(name = "idx_bank_modified_at", columnList = "modified_at")
+})
 public class Bank {
+    //region DEFAULT(S)
+    public static final String CACHE_REGION = "bank";
+    public static final String QUERY_CACHE_REGION = "bank-queries";
+    //endregion
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long bankId;
@@ -53,13 +70,19 @@ public class Bank {
     @Column(name = "bank_employees", nullable = false)
     private Integer bankEmployees;
 
+    // @note: Optimistic lock, bumped by every write and handed to clients as the ETag for If-Match.
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
 
     //region Timestamps
-    @Column(name="created_at", columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+    @Column(name="created_at", columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)")
     @CreatedDate
     private Instant CreatedAt;
 
-    @Column(name="modified_at", columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+    @Column(name="modified_at", columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)")
     @LastModifiedDate
     private Instant ModifiedAt;
     //endregion
@@ -1,11 +1,86 @@
 package c303.c303_final.repository;
 
+import c303.c303_final.dtos.BankDecadeCountDto;
+import c303.c303_final.dtos.BankVersionDto;
 import c303.c303_final.model.Bank;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface BankRepository extends JpaRepository<Bank, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE;
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_CACHE_STORE_MODE;
+
+public interface BankRepository extends JpaRepository<Bank, Long>, JpaSpecificationExecutor<Bank>, BankRepositoryCustom {
+    // @note: Cached query results hold ids only, the rows themselves come back out of the Bank entity region.
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Bank.QUERY_CACHE_REGION)
+    })
     List<Bank> findBanksByBankName(String bankName);
+
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Bank.QUERY_CACHE_REGION)
+    })
     Bank findBankByBankId(Long bankId);
+
+    List<Bank> findByBankIdIn(Collection<Long> bankIds);
+
+    // @note: Lowest id first for a shared name, the same bank find/name gets back through idx_bank_name.
+    List<Bank> findByBankNameInOrderByBankIdAsc(Collection<String> bankNames);
+
+    @Override
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Bank.QUERY_CACHE_REGION)
+    })
+    Page<Bank> findAll(Specification<Bank> specification, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Bank.QUERY_CACHE_REGION)
+    })
+    @Query("SELECT new c303.c303_final.dtos.BankVersionDto(COUNT(b), MAX(b.ModifiedAt)) FROM Bank b")
+    BankVersionDto findBankVersion();
+
+    @Query("""
+            SELECT new c303.c303_final.dtos.BankDecadeCountDto(CAST(FLOOR(YEAR(b.bankYear) / 10) * 10 AS Integer), COUNT(b))
+            FROM Bank b
+            GROUP BY CAST(FLOOR(YEAR(b.bankYear) / 10) * 10 AS Integer)
+            ORDER BY CAST(FLOOR(YEAR(b.bankYear) / 10) * 10 AS Integer)
+            """)
+    List<BankDecadeCountDto> findBankDecadeHistogram();
+
+    // @note: Served by idx_bank_atms, the database reads only the first rows of the index.
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Bank.QUERY_CACHE_REGION)
+    })
+    List<Bank> findByOrderByBankAtmsDescBankIdAsc(Limit limit);
+
+    // @note: With useCursorFetch on the connection, MySQL streams rows through a server-side cursor in fetch-size chunks.
+    //        The cache is bypassed both ways, a full export would otherwise push every row through the Bank region
+    //        and evict the rows the point lookups keep warm.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("SELECT b FROM Bank b ORDER BY b.bankId ASC")
+    Stream<Bank> streamAllBanks();
 }
@@ -0,0 +1,24 @@
+package c303.c303_final.repository;
+
+import c303.c303_final.dtos.BankDto;
+import c303.c303_final.dtos.BankTotalsDto;
+import c303.c303_final.model.Bank;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+public interface BankRepositoryCustom {
+    // @note: Returns the number of rows affected, 0 means no bank with the provided id exists
+    //        or, when an expected version is given, that the bank has moved past it.
+    int patchBankByBankId(Long bankId, Bank patch, Instant modifiedAt, Long expectedVersion);
+
+    // @note: Same contract as patchBankByBankId, a null expected version deletes unconditionally.
+    int deleteBankByBankId(Long bankId, Long expectedVersion);
+
+    // @note: Selects only the requested fields (all of them when empty), ordered by id after the given id.
+    List<BankDto> findBankDtos(Set<String> fields, Long afterBankId, Integer limit);
+
+    // @note: Count plus sum, average, min and max of atms, branches and employees in a single scan.
+    BankTotalsDto findBankTotals();
+}
@@ -0,0 +1,207 @@
+package c303.c303_final.repository;
+
+import c303.c303_final.dtos.BankDto;
+import c303.c303_final.dtos.BankMetricStatsDto;
+import c303.c303_final.dtos.BankTotalsDto;
+import c303.c303_final.model.Bank;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
+public class BankRepositoryImpl implements BankRepositoryCustom {
+    //region DEFAULT(S)
+    private static final String FIELD_NOT_SUPPORTED = "Field %s is not a supported bank field.";
+
+    // @note: Maps the serialized field names to their entity attribute names.
+    private static final Map<String, String> PROJECTABLE_FIELDS = Map.of(
+            "bankId", "bankId",
+            "bankName", "bankName",
+            "bankYear", "bankYear",
+            "bankAddress", "bankAddress",
+            "bankAtms", "bankAtms",
+            "bankBranches", "bankBranches",
+            "bankEmployees", "bankEmployees",
+            "createdAt", "CreatedAt",
+            "modifiedAt", "ModifiedAt"
+    );
+    //endregion
+
+    private final EntityManager entityManager;
+
+    public BankRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // @note: A bulk update or delete makes Hibernate drop the whole Bank region, not only this row, when the statement
+    //        runs and again once the transaction completes, so an old row loaded in between is not left behind.
+    //        Evicting just the one id would mean leaving this path for JDBC and redoing that cleanup by hand. Point
+    //        lookups are served by BankCache and cached query results are invalidated by any write, so the cost is
+    //        refilling the region after a write.
+    @Override
+    @Transactional
+    public int patchBankByBankId(final Long bankId, final Bank patch, final Instant modifiedAt, final Long expectedVersion) {
+        var builder = entityManager.getCriteriaBuilder();
+        var update = builder.createCriteriaUpdate(Bank.class);
+        var root = update.from(Bank.class);
+
+        // @note: Only the non-null fields end up in the SET clause, one UPDATE and no prior SELECT.
+        setIfPresent(update, root, "bankName", patch.getBankName());
+        setIfPresent(update, root, "bankYear", patch.getBankYear());
+        setIfPresent(update, root, "bankAddress", patch.getBankAddress());
+        setIfPresent(update, root, "bankAtms", patch.getBankAtms());
+        setIfPresent(update, root, "bankBranches", patch.getBankBranches());
+        setIfPresent(update, root, "bankEmployees", patch.getBankEmployees());
+        update.set(root.get("ModifiedAt"), modifiedAt);
+        update.set(root.<Long>get("version"), builder.sum(root.<Long>get("version"), 1L));
+        update.where(matchesVersion(builder, root, bankId, expectedVersion));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int deleteBankByBankId(final Long bankId, final Long expectedVersion) {
+        var builder = entityManager.getCriteriaBuilder();
+        var delete = builder.createCriteriaDelete(Bank.class);
+        var root = delete.from(Bank.class);
+
+        delete.where(matchesVersion(builder, root, bankId, expectedVersion));
+
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BankDto> findBankDtos(final Set<String> fields, final Long afterBankId, final Integer limit) {
+        var requested = fields == null || fields.isEmpty() ? PROJECTABLE_FIELDS.keySet() : fields;
+        requested.forEach(field -> {
+            if (!PROJECTABLE_FIELDS.containsKey(field)) {
+                throw new IllegalArgumentException(String.format(FIELD_NOT_SUPPORTED, field));
+            }
+        });
+
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createTupleQuery();
+        var root = query.from(Bank.class);
+
+        // @note: bankId is always selected, it is the keyset cursor and the identity of the row.
+        //        Seeking on bank_id > ? keeps the cost of a page flat however deep into the table it is.
+        var selections = new ArrayList<Selection<?>>();
+        selections.add(root.get("bankId").alias("bankId"));
+        requested.stream()
+                .filter(field -> !"bankId".equals(field))
+                .forEach(field -> selections.add(root.get(PROJECTABLE_FIELDS.get(field)).alias(field)));
+
+        query.multiselect(selections);
+        if (afterBankId != null) {
+            query.where(builder.greaterThan(root.get("bankId"), afterBankId));
+        }
+        query.orderBy(builder.asc(root.get("bankId")));
+
+        var typedQuery = entityManager.createQuery(query);
+        if (limit != null) {
+            // @note: Only bounded pages go to the query cache, a whole-table result would be one oversized entry.
+            typedQuery.setMaxResults(limit)
+                    .setHint(HINT_CACHEABLE, true)
+                    .setHint(HINT_CACHE_REGION, Bank.QUERY_CACHE_REGION);
+        }
+
+        return typedQuery.getResultList().stream()
+                .map(tuple -> toBankDto(tuple, requested))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BankTotalsDto findBankTotals() {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createTupleQuery();
+        var root = query.from(Bank.class);
+
+        var selections = new ArrayList<Selection<?>>();
+        selections.add(builder.count(root).alias("count"));
+        for (String attribute : List.of("bankAtms", "bankBranches", "bankEmployees")) {
+            Path<Integer> path = root.get(attribute);
+            selections.add(builder.sumAsLong(path).alias(attribute + "Sum"));
+            selections.add(builder.avg(path).alias(attribute + "Avg"));
+            selections.add(builder.min(path).alias(attribute + "Min"));
+            selections.add(builder.max(path).alias(attribute + "Max"));
+        }
+        query.multiselect(selections);
+
+        var tuple = entityManager.createQuery(query).getSingleResult();
+        return new BankTotalsDto(
+                tuple.get("count", Long.class),
+                toMetricStats(tuple, "bankAtms"),
+                toMetricStats(tuple, "bankBranches"),
+                toMetricStats(tuple, "bankEmployees"));
+    }
+
+    // region Helpers
+    private static BankMetricStatsDto toMetricStats(final Tuple tuple, final String attribute) {
+        return new BankMetricStatsDto(
+                tuple.get(attribute + "Sum", Long.class),
+                tuple.get(attribute + "Avg", Double.class),
+                tuple.get(attribute + "Min", Integer.class),
+                tuple.get(attribute + "Max", Integer.class));
+    }
+
+    // @note: The version check rides on the same statement as the write, so no row lock is ever taken.
+    private static Predicate matchesVersion(
+            final CriteriaBuilder builder,
+            final Root<Bank> root,
+            final Long bankId,
+            final Long expectedVersion
+    ) {
+        var matchesId = builder.equal(root.get("bankId"), bankId);
+
+        return expectedVersion == null
+                ? matchesId
+                : builder.and(matchesId, builder.equal(root.get("version"), expectedVersion));
+    }
+
+    private static BankDto toBankDto(final Tuple tuple, final Set<String> fields) {
+        return new BankDto(
+                tuple.get("bankId", Long.class),
+                valueOf(tuple, fields, "bankName", String.class),
+                valueOf(tuple, fields, "bankYear", Date.class),
+                valueOf(tuple, fields, "bankAddress", String.class),
+                valueOf(tuple, fields, "bankAtms", Integer.class),
+                valueOf(tuple, fields, "bankBranches", Integer.class),
+                valueOf(tuple, fields, "bankEmployees", Integer.class),
+                valueOf(tuple, fields, "createdAt", Instant.class),
+                valueOf(tuple, fields, "modifiedAt", Instant.class));
+    }
+
+    private static <T> T valueOf(final Tuple tuple, final Set<String> fields, final String field, final Class<T> type) {
+        return fields.contains(field) ? tuple.get(field, type) : null;
+    }
+
+    private static <T> void setIfPresent(
+            final CriteriaUpdate<Bank> update,
+            final Root<Bank> root,
+            final String attribute,
+            final T value
+    ) {
+        if (value != null) {
+            update.set(root.<T>get(attribute), value);
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,61 @@
+package c303.c303_final.repository;
+
+import c303.c303_final.dtos.BankSearchCriteriaDto;
+import c303.c303_final.model.Bank;
+import org.springframework.data.jpa.domain.Specification;
+
+public class BankSpecifications {
+    private static final char LIKE_ESCAPE = '\\';
+
+    private BankSpecifications() {
+        // Private constructor to prevent class instantiation.
+    }
+
+    public static Specification<Bank> matching(final BankSearchCriteriaDto criteria) {
+        // @note: Null specifications are ignored by and(), so unset criteria add nothing to the WHERE clause.
+        return Specification.<Bank>where(nameStartsWith(criteria.getNamePrefix()))
+                .and(between("bankYear", criteria.getYearFrom(), criteria.getYearTo()))
+                .and(between("bankAtms", criteria.getMinAtms(), criteria.getMaxAtms()))
+                .and(between("bankBranches", criteria.getMinBranches(), criteria.getMaxBranches()))
+                .and(between("bankEmployees", criteria.getMinEmployees(), criteria.getMaxEmployees()));
+    }
+
+    public static Specification<Bank> nameStartsWith(final String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+
+        // @note: A prefix LIKE without a leading wildcard can still use idx_bank_name.
+        return (root, query, builder) -> builder.like(root.get("bankName"), escapeLike(prefix) + "%", LIKE_ESCAPE);
+    }
+
+    public static <T extends Comparable<? super T>> Specification<Bank> between(
+            final String attribute,
+            final T from,
+            final T to
+    ) {
+        if (from == null && to == null) {
+            return null;
+        }
+
+        return (root, query, builder) -> {
+            if (from == null) {
+                return builder.lessThanOrEqualTo(root.get(attribute), to);
+            }
+
+            if (to == null) {
+                return builder.greaterThanOrEqualTo(root.get(attribute), from);
+            }
+            return builder.between(root.get(attribute), from, to);
+        };
+    }
+
+    // region Helpers
+    private static String escapeLike(final String value) {
+        return value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+    // endregion
+}
@@ -0,0 +1,42 @@
+package c303.c303_final.repository;
+
+import c303.c303_final.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    // @note: Served by idx_idempotency_expires_at, the purge never scans live keys.
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+
+    // @note: Clears the persistence context so a removed row read earlier in the request cannot block the next insert.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.expiresAt < :now")
+    int deleteExpired(@Param("key") String key, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyRecord r
+            SET r.status = :status, r.responseBody = :body, r.expiresAt = :expiresAt
+            WHERE r.idempotencyKey = :key
+            """)
+    int complete(
+            @Param("key") String key,
+            @Param("status") int status,
+            @Param("body") byte[] body,
+            @Param("expiresAt") Instant expiresAt
+    );
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.status = :status")
+    int deleteByKeyAndStatus(@Param("key") String key, @Param("status") int status);
+}
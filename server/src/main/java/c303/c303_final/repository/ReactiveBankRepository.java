@@ -0,0 +1,151 @@
+package c303.c303_final.repository;
+
+import c303.c303_final.model.Bank;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Repository
+@Profile("reactive")
+public class ReactiveBankRepository {
+    //region DEFAULT(S)
+    private static final String SELECT_BANK = """
+            SELECT bank_id, bank_name, bank_year, bank_address, bank_atms, bank_branches, bank_employees, version, created_at, modified_at
+            FROM bank
+            """;
+    private static final String INSERT_BANK = """
+            INSERT INTO bank (bank_name, bank_year, bank_address, bank_atms, bank_branches, bank_employees, created_at, modified_at)
+            VALUES (:bankName, :bankYear, :bankAddress, :bankAtms, :bankBranches, :bankEmployees, :createdAt, :modifiedAt)
+            """;
+    //endregion
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveBankRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Bank> findAll() {
+        return databaseClient.sql(SELECT_BANK + "ORDER BY bank_id")
+                .map(ReactiveBankRepository::toBank)
+                .all();
+    }
+
+    public Mono<Bank> findBankByBankId(final Long bankId) {
+        return databaseClient.sql(SELECT_BANK + "WHERE bank_id = :bankId")
+                .bind("bankId", bankId)
+                .map(ReactiveBankRepository::toBank)
+                .one();
+    }
+
+    public Mono<Bank> findFirstBankByBankName(final String bankName) {
+        return databaseClient.sql(SELECT_BANK + "WHERE bank_name = :bankName ORDER BY bank_id LIMIT 1")
+                .bind("bankName", bankName)
+                .map(ReactiveBankRepository::toBank)
+                .one();
+    }
+
+    public Mono<Bank> insert(final Bank bank) {
+        return databaseClient.sql(INSERT_BANK)
+                .filter(statement -> statement.returnGeneratedValues("bank_id"))
+                .bind("bankName", bank.getBankName())
+                .bind("bankYear", toLocalDateTime(bank.getBankYear()))
+                .bind("bankAddress", bank.getBankAddress())
+                .bind("bankAtms", bank.getBankAtms())
+                .bind("bankBranches", bank.getBankBranches())
+                .bind("bankEmployees", bank.getBankEmployees())
+                .bind("createdAt", toLocalDateTime(bank.getCreatedAt()))
+                .bind("modifiedAt", toLocalDateTime(bank.getModifiedAt()))
+                .map(row -> row.get("bank_id", Long.class))
+                .one()
+                .map(bankId -> {
+                    bank.setBankId(bankId);
+                    bank.setVersion(0L);
+                    return bank;
+                });
+    }
+
+    // @note: Same single-statement semantics as BankRepositoryCustom, only non-null fields are written.
+    public Mono<Long> patchBankByBankId(final Long bankId, final Bank patch, final Instant modifiedAt) {
+        var values = new LinkedHashMap<String, Object>();
+
+        putIfPresent(values, "bank_name", patch.getBankName());
+        putIfPresent(values, "bank_year", toLocalDateTime(patch.getBankYear()));
+        putIfPresent(values, "bank_address", patch.getBankAddress());
+        putIfPresent(values, "bank_atms", patch.getBankAtms());
+        putIfPresent(values, "bank_branches", patch.getBankBranches());
+        putIfPresent(values, "bank_employees", patch.getBankEmployees());
+        values.put("modified_at", toLocalDateTime(modifiedAt));
+
+        var assignments = new ArrayList<String>(values.size() + 1);
+        values.keySet().forEach(column -> assignments.add(column + " = :" + column));
+        assignments.add("version = version + 1");
+
+        var spec = databaseClient.sql("UPDATE bank SET " + String.join(", ", assignments) + " WHERE bank_id = :bankId")
+                .bind("bankId", bankId);
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            spec = spec.bind(value.getKey(), value.getValue());
+        }
+
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Long> deleteBankByBankId(final Long bankId) {
+        return databaseClient.sql("DELETE FROM bank WHERE bank_id = :bankId")
+                .bind("bankId", bankId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // region Helpers
+    private static Bank toBank(final Readable row) {
+        return Bank.builder()
+                .bankId(row.get("bank_id", Long.class))
+                .bankName(row.get("bank_name", String.class))
+                .bankYear(toDate(row.get("bank_year", LocalDateTime.class)))
+                .bankAddress(row.get("bank_address", String.class))
+                .bankAtms(row.get("bank_atms", Integer.class))
+                .bankBranches(row.get("bank_branches", Integer.class))
+                .bankEmployees(row.get("bank_employees", Integer.class))
+                .version(row.get("version", Long.class))
+                .CreatedAt(toInstant(row.get("created_at", LocalDateTime.class)))
+                .ModifiedAt(toInstant(row.get("modified_at", LocalDateTime.class)))
+                .build();
+    }
+
+    private static void putIfPresent(final Map<String, Object> values, final String column, final Object value) {
+        if (value != null) {
+            values.put(column, value);
+        }
+    }
+
+    // @note: Hibernate writes Instant columns as UTC and java.util.Date in the JVM zone, mirror that here.
+    private static LocalDateTime toLocalDateTime(final Instant instant) {
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toLocalDateTime(final Date date) {
+        return date == null ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    private static Instant toInstant(final LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant(ZoneOffset.UTC);
+    }
+
+    private static Date toDate(final LocalDateTime dateTime) {
+        return dateTime == null ? null : Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+    // endregion
+}
@@ -0,0 +1,241 @@
+package c303.c303_final.search;
+
+import c303.c303_final.datasource.PrimaryReads;
+import c303.c303_final.dtos.BankSearchHitDto;
+import c303.c303_final.feed.BankChange;
+import c303.c303_final.service.BankService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Autocomplete over bank names and addresses, answered from memory without a query. The index is built from the
+ * bank table once the application is ready and follows the committed {@link BankChange} events after that, bulk
+ * writes rebuild it from the table. Changes committed while a rebuild runs reach the current index right away and
+ * are replayed onto the new one before it takes over.
+ */
+@Component
+@Profile("!reactive")
+public class BankSearchIndex {
+    //region DEFAULT(S)
+    private static final int MIN_QUERY_LENGTH = 2;
+    private static final int MAX_QUERY_LENGTH = EditPattern.MAX_LENGTH;
+    private static final int ONE_TYPO_LENGTH = 5;
+    private static final int TWO_TYPOS_LENGTH = 9;
+    private static final String QUERY_LENGTH_NOT_SUPPORTED = "Search query must be between %s and %s letters or digits long.";
+    private static final String[] FIELDS = { "name", "address" };
+    private static final String[] MATCHES = { "prefix", "word", "substring", "typo" };
+    private static final Logger LOGGER = LoggerFactory.getLogger(BankSearchIndex.class);
+    //endregion
+
+    private final BankService bankService;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService rebuilder;
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final int maxCandidates;
+    private final int maxTypoCandidates;
+    private final long retryDelayMillis;
+    private final Counter rebuilt;
+    private final Counter failed;
+    private TrigramIndex index = new TrigramIndex(0); // @note: Guarded by lock, as is pending.
+    private List<BankChange> pending;
+    private volatile boolean ready;
+
+    @Autowired
+    public BankSearchIndex(
+            BankService bankService,
+            MeterRegistry meterRegistry,
+            @Value("${bank.search.default-limit:10}") int defaultLimit,
+            @Value("${bank.search.max-limit:50}") int maxLimit,
+            @Value("${bank.search.max-candidates:10000}") int maxCandidates,
+            @Value("${bank.search.max-typo-candidates:1000}") int maxTypoCandidates,
+            @Value("${bank.search.rebuild-retry:PT30S}") Duration retryDelay
+    ) {
+        this.bankService = bankService;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+        this.maxCandidates = maxCandidates;
+        this.maxTypoCandidates = maxTypoCandidates;
+        this.retryDelayMillis = retryDelay.toMillis();
+        this.rebuilder = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("bank-search-index-"));
+        this.rebuilt = meterRegistry.counter("bank.search.rebuilds", "outcome", "completed");
+        this.failed = meterRegistry.counter("bank.search.rebuilds", "outcome", "failed");
+        meterRegistry.gauge("bank.search.documents", this, BankSearchIndex::size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    // @note: Rolled back writes never reach the index, same as the change feed.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBankChange(final BankChange change) {
+        if (change.type() == BankChange.Type.BULK) {
+            requestRebuild();
+            return;
+        }
+
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            apply(index, change);
+
+            if (pending != null) {
+                pending.add(change);
+            }
+            compact = index.deadSlots() > Math.max(index.size(), maxCandidates);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // @note: Edits and deletes leave dead slots in the posting lists, once they outnumber the live ones the
+        //        index is rebuilt without them.
+        if (compact) {
+            requestRebuild();
+        }
+    }
+
+    // @note: False until the first build from the table has completed.
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<BankSearchHitDto> search(final String query, final Integer limit) {
+        var normalized = TrigramIndex.normalize(query);
+
+        if (normalized.length() < MIN_QUERY_LENGTH || normalized.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException(String.format(QUERY_LENGTH_NOT_SUPPORTED, MIN_QUERY_LENGTH, MAX_QUERY_LENGTH));
+        }
+
+        var size = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        List<TrigramIndex.Hit> hits;
+
+        lock.readLock().lock();
+        try {
+            hits = index.search(normalized, size, maxTypos(normalized), maxCandidates, maxTypoCandidates);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return hits.stream()
+                .map(hit -> new BankSearchHitDto(hit.bankId(), hit.name(), hit.address(),
+                        FIELDS[hit.field()], MATCHES[hit.match()], hit.typos()))
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    // region Helpers
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // @note: However many bulk writes arrive while one rebuild is waiting, they are all covered by it.
+    private void requestRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        rebuildQueued.set(false);
+
+        int expectedSize;
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+            expectedSize = index.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            var rebuiltIndex = new TrigramIndex(expectedSize);
+
+            // @note: Read from the primary, the pending changes are replayed onto a snapshot a lagging replica
+            //        could have taken from before them.
+            PrimaryReads.require();
+            try {
+                bankService.streamAllBanks(bank -> rebuiltIndex.put(bank.getBankId(), bank.getBankName(), bank.getBankAddress()));
+            } finally {
+                PrimaryReads.clear();
+            }
+            rebuiltIndex.trim();
+
+            lock.writeLock().lock();
+            try {
+                pending.forEach(change -> apply(rebuiltIndex, change));
+                index = rebuiltIndex;
+            } finally {
+                pending = null;
+                lock.writeLock().unlock();
+            }
+
+            ready = true;
+            rebuilt.increment();
+        } catch (RuntimeException e) {
+            // @note: The current index keeps serving, possibly the empty one from before the first build, so the
+            //        rebuild is tried again after a delay rather than waiting for a bulk write that may never come.
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            failed.increment();
+            LOGGER.error("Search index rebuild failed, retrying in {} ms.", retryDelayMillis, e);
+            rebuilder.schedule(this::requestRebuild, retryDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // @note: Replaying a change the table snapshot already had leaves the index as it was, so pending changes
+    //        never have to be told apart from the rows the rebuild read.
+    private static void apply(final TrigramIndex index, final BankChange change) {
+        switch (change.type()) {
+            case INSERT -> index.put(change.bankId(), change.bank().getBankName(), change.bank().getBankAddress());
+            case UPDATE -> index.update(change.bankId(), change.bank().getBankName(), change.bank().getBankAddress());
+            case DELETE -> index.remove(change.bankId());
+            case BULK -> {
+            }
+        }
+    }
+
+    private static int maxTypos(final String query) {
+        if (query.length() >= TWO_TYPOS_LENGTH) {
+            return 2;
+        }
+        return query.length() >= ONE_TYPO_LENGTH ? 1 : 0;
+    }
+    // endregion
+}
@@ -0,0 +1,96 @@
+package c303.c303_final.search;
+
+/**
+ * Query compiled for Myers' bit-parallel approximate matching. One pass over a text gives the fewest edits that
+ * turn the query into any substring of it, with a column of the edit distance table kept in two longs instead of
+ * an array, so the query is limited to {@link #MAX_LENGTH} characters.
+ */
+final class EditPattern {
+    //region DEFAULT(S)
+    static final int MAX_LENGTH = Long.SIZE;
+
+    private static final int ASCII = 128;
+    //endregion
+
+    private final int length;
+    private final long last;
+    private final long[] asciiMasks = new long[ASCII];
+    private final char[] otherChars;
+    private final long[] otherMasks;
+
+    EditPattern(final String query) {
+        if (query.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Query must be at most " + MAX_LENGTH + " characters long.");
+        }
+
+        this.length = query.length();
+        this.last = 1L << (length - 1);
+
+        var others = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            var c = query.charAt(i);
+
+            if (c < ASCII) {
+                asciiMasks[c] |= 1L << i;
+            } else if (others.indexOf(String.valueOf(c)) < 0) {
+                others.append(c);
+            }
+        }
+
+        this.otherChars = others.toString().toCharArray();
+        this.otherMasks = new long[otherChars.length];
+        for (int i = 0; i < length; i++) {
+            var c = query.charAt(i);
+
+            for (int j = 0; j < otherChars.length; j++) {
+                if (otherChars[j] == c) {
+                    otherMasks[j] |= 1L << i;
+                }
+            }
+        }
+    }
+
+    int substringDistance(final String text) {
+        var positive = -1L;
+        var negative = 0L;
+        var score = length;
+        var best = length;
+
+        for (int j = 0; j < text.length() && best > 0; j++) {
+            var equal = mask(text.charAt(j));
+            var vertical = equal | negative;
+            var horizontal = (((equal & positive) + positive) ^ positive) | equal;
+            var horizontalPositive = negative | ~(horizontal | positive);
+            var horizontalNegative = positive & horizontal;
+
+            if ((horizontalPositive & last) != 0) {
+                score++;
+            } else if ((horizontalNegative & last) != 0) {
+                score--;
+            }
+
+            // @note: Nothing is carried in at the top row, a match may start anywhere in the text.
+            horizontalPositive <<= 1;
+            horizontalNegative <<= 1;
+            positive = horizontalNegative | ~(vertical | horizontalPositive);
+            negative = horizontalPositive & vertical;
+            best = Math.min(best, score);
+        }
+        return best;
+    }
+
+    // region Helpers
+    private long mask(final char c) {
+        if (c < ASCII) {
+            return asciiMasks[c];
+        }
+
+        for (int i = 0; i < otherChars.length; i++) {
+            if (otherChars[i] == c) {
+                return otherMasks[i];
+            }
+        }
+        return 0L;
+    }
+    // endregion
+}
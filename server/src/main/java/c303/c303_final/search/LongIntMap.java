@@ -0,0 +1,82 @@
+package c303.c303_final.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from bank id to document slot, without boxing either side. Removing a bank stores
+ * {@link #MISSING} for its id rather than clearing the entry, the index is rebuilt before those add up.
+ */
+final class LongIntMap {
+    //region DEFAULT(S)
+    static final int MISSING = -1;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    //endregion
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntMap(final int expectedSize) {
+        var capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int get(final long key) {
+        var mask = keys.length - 1;
+
+        for (int index = hash(key) & mask; ; index = (index + 1) & mask) {
+            if (keys[index] == key) {
+                return values[index];
+            }
+            if (keys[index] == EMPTY) {
+                return MISSING;
+            }
+        }
+    }
+
+    void put(final long key, final int value) {
+        var mask = keys.length - 1;
+        var index = hash(key) & mask;
+
+        while (keys[index] != EMPTY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+
+        if (keys[index] == EMPTY) {
+            keys[index] = key;
+            if (++size * 2 > keys.length) {
+                values[index] = value;
+                resize();
+                return;
+            }
+        }
+        values[index] = value;
+    }
+
+    // region Helpers
+    private void resize() {
+        var oldKeys = keys;
+        var oldValues = values;
+
+        keys = new long[oldKeys.length << 1];
+        values = new int[oldValues.length << 1];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int hash(final long key) {
+        var hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+    // endregion
+}
@@ -0,0 +1,56 @@
+package c303.c303_final.search;
+
+import java.util.Arrays;
+
+/**
+ * Ascending list of postings for one trigram, kept in a plain int array. Documents only ever get a slot after
+ * every slot handed out before them, so adding is an append and the list never has to be re-sorted.
+ */
+final class PostingList {
+    private int[] values = new int[4];
+    private int size;
+
+    void add(final int value) {
+        // @note: A gram repeated within the same field is posted once.
+        if (size > 0 && values[size - 1] >= value) {
+            return;
+        }
+
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(final int index) {
+        return values[index];
+    }
+
+    // @note: Galloping search for the first index at or after from holding a value >= target. Callers walk the list
+    //        in ascending order, so most calls land within a few positions of where the previous one stopped.
+    int advance(final int from, final int target) {
+        if (from >= size || values[from] >= target) {
+            return from;
+        }
+
+        var low = from;
+        var step = 1;
+        while (low + step < size && values[low + step] < target) {
+            low += step;
+            step <<= 1;
+        }
+
+        var index = Arrays.binarySearch(values, low + 1, Math.min(low + step, size - 1) + 1, target);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    void trim() {
+        if (values.length > size) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package c303.c303_final.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Trigram index over bank names and addresses. Every document gets a slot, and each trigram of its normalized
+ * name and address posts {@code slot * 2 + field} to that trigram's list. A query intersects the lists of its own
+ * trigrams and confirms each candidate against the stored text, so a shared trigram never produces a false hit.
+ * Changed and removed documents leave a dead slot behind, {@link BankSearchIndex} rebuilds once there are many.
+ * Not thread-safe.
+ */
+final class TrigramIndex {
+    //region DEFAULT(S)
+    static final int NAME = 0;
+    static final int ADDRESS = 1;
+
+    static final int PREFIX = 0;
+    static final int WORD = 1;
+    static final int SUBSTRING = 2;
+    static final int TYPO = 3;
+
+    // @note: Characters fold into a 6-bit alphabet, so a trigram is an 18-bit code indexing the posting array
+    //        directly, with no hashing and no boxed keys on the query path. Letters outside a-z share the codes
+    //        left over, the text check sorts out those collisions.
+    private static final int ALPHABET_BITS = 6;
+    private static final int SEPARATOR_CODE = 0;
+    private static final int DIGIT_CODE = 27;
+    private static final int OTHER_CODE = 37;
+    private static final int START_CODE = 63;
+
+    // @note: Marks the start of a field, so a field prefix has trigrams of its own and is found without scanning.
+    private static final char START = '\u0002';
+    private static final char SEPARATOR = ' ';
+    private static final long DEAD = -1L;
+    //endregion
+
+    private final PostingList[] postings = new PostingList[1 << (3 * ALPHABET_BITS)];
+    private final LongIntMap slotsById;
+    private long[] bankIds;
+    private String[] names;
+    private String[] addresses;
+    private int slots;
+    private int live;
+
+    TrigramIndex(final int expectedSize) {
+        var capacity = Math.max(16, expectedSize);
+
+        this.slotsById = new LongIntMap(capacity);
+        this.bankIds = new long[capacity];
+        this.names = new String[capacity];
+        this.addresses = new String[capacity];
+    }
+
+    // @note: Replaces whatever was indexed for the bank before.
+    void put(final long bankId, final String name, final String address) {
+        remove(bankId);
+
+        if (slots == bankIds.length) {
+            var capacity = slots + (slots >> 1);
+            bankIds = Arrays.copyOf(bankIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            addresses = Arrays.copyOf(addresses, capacity);
+        }
+
+        var slot = slots++;
+        bankIds[slot] = bankId;
+        names[slot] = name;
+        addresses[slot] = address;
+        slotsById.put(bankId, slot);
+        live++;
+
+        post(slot, NAME, name);
+        post(slot, ADDRESS, address);
+    }
+
+    // @note: A null name or address keeps the indexed one, banks that are not indexed are left alone.
+    void update(final long bankId, final String name, final String address) {
+        var slot = slotsById.get(bankId);
+
+        if (slot == LongIntMap.MISSING) {
+            return;
+        }
+
+        var newName = name == null ? names[slot] : name;
+        var newAddress = address == null ? addresses[slot] : address;
+        if (!newName.equals(names[slot]) || !newAddress.equals(addresses[slot])) {
+            put(bankId, newName, newAddress);
+        }
+    }
+
+    void remove(final long bankId) {
+        var slot = slotsById.get(bankId);
+
+        if (slot == LongIntMap.MISSING) {
+            return;
+        }
+
+        bankIds[slot] = DEAD;
+        names[slot] = null;
+        addresses[slot] = null;
+        slotsById.put(bankId, LongIntMap.MISSING);
+        live--;
+    }
+
+    int size() {
+        return live;
+    }
+
+    int deadSlots() {
+        return slots - live;
+    }
+
+    void forEach(final Consumer<Hit> consumer) {
+        for (int slot = 0; slot < slots; slot++) {
+            if (bankIds[slot] != DEAD) {
+                consumer.accept(new Hit(bankIds[slot], names[slot], addresses[slot], NAME, PREFIX, 0));
+            }
+        }
+    }
+
+    // @note: Called once a bulk load is done, the lists stop growing by half their size at a time.
+    void trim() {
+        for (PostingList list : postings) {
+            if (list != null) {
+                list.trim();
+            }
+        }
+    }
+
+    // @note: Field prefixes rank first, then word prefixes, substrings and matches within maxTypos edits, each
+    //        class in index order. An exact class checks at most maxCandidates documents, the typo class visits at
+    //        most maxTypoCandidates postings, and the search stops once limit hits are found. That keeps a query
+    //        matching most of the index as cheap as a selective one.
+    List<Hit> search(final String query, final int limit, final int maxTypos, final int maxCandidates,
+                     final int maxTypoCandidates) {
+        var normalized = normalize(query);
+        var hits = new ArrayList<Hit>(limit);
+        var found = new LongIntMap(limit);
+
+        if (normalized.isEmpty()) {
+            return hits;
+        }
+
+        collectExact(START + normalized, PREFIX, hits, found, limit, maxCandidates);
+        collectExact(SEPARATOR + normalized, WORD, hits, found, limit, maxCandidates);
+
+        // @note: A word prefix already covers a two character query, its trigram starts at the separator.
+        if (normalized.length() >= 3) {
+            collectExact(normalized, SUBSTRING, hits, found, limit, maxCandidates);
+        }
+        if (maxTypos > 0 && hits.size() < limit) {
+            collectTypos(normalized, maxTypos, hits, found, limit, maxTypoCandidates);
+        }
+        return hits;
+    }
+
+    static String normalize(final String text) {
+        if (text == null) {
+            return "";
+        }
+
+        var folded = isAscii(text) ? text : Normalizer.normalize(text, Normalizer.Form.NFD);
+        var normalized = new StringBuilder(folded.length());
+
+        for (int i = 0; i < folded.length(); i++) {
+            var c = folded.charAt(i);
+
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK
+                    && !normalized.isEmpty() && normalized.charAt(normalized.length() - 1) != SEPARATOR) {
+                normalized.append(SEPARATOR);
+            }
+        }
+
+        if (!normalized.isEmpty() && normalized.charAt(normalized.length() - 1) == SEPARATOR) {
+            normalized.setLength(normalized.length() - 1);
+        }
+        return normalized.toString();
+    }
+
+    record Hit(long bankId, String name, String address, int field, int match, int typos) {
+    }
+
+    // region Helpers
+    private void post(final int slot, final int field, final String text) {
+        var indexed = START + normalize(text);
+
+        for (int i = 0; i + 2 < indexed.length(); i++) {
+            var gram = gram(indexed, i);
+            var list = postings[gram];
+
+            if (list == null) {
+                list = new PostingList();
+                postings[gram] = list;
+            }
+            list.add(slot * 2 + field);
+        }
+    }
+
+    private void collectExact(final String pattern, final int match, final List<Hit> hits, final LongIntMap found,
+                              final int limit, final int maxCandidates) {
+        var lists = lists(pattern);
+
+        if (lists == null || hits.size() >= limit) {
+            return;
+        }
+
+        // @note: Leapfrog intersection, each list jumps straight to the posting the others agree on, so long lists
+        //        are skipped through rather than walked. The shortest go first, they move the target furthest.
+        Arrays.sort(lists, (left, right) -> Integer.compare(left.size(), right.size()));
+        var cursors = new int[lists.length];
+
+        for (int posting = nextInAll(lists, cursors, 0), examined = 0;
+             posting != Integer.MAX_VALUE && examined < maxCandidates;
+             posting = nextInAll(lists, cursors, posting + 1)) {
+            var slot = posting >>> 1;
+
+            if (bankIds[slot] == DEAD || found.get(bankIds[slot]) != LongIntMap.MISSING) {
+                continue;
+            }
+
+            examined++;
+            var field = posting & 1;
+            if ((START + normalize(field == NAME ? names[slot] : addresses[slot])).contains(pattern)) {
+                addHit(slot, field, match, 0, hits, found);
+
+                if (hits.size() >= limit) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // @note: One edit changes at most three trigrams, so a document within maxTypos edits still shares all but
+    //        3 * maxTypos of the query's trigrams, and shares at least one of any 3 * maxTypos + 1 of them. The
+    //        candidates are the union of the rarest lists, kept if they share enough trigrams and then checked
+    //        with an edit distance against the text.
+    private void collectTypos(final String query, final int maxTypos, final List<Hit> hits, final LongIntMap found,
+                              final int limit, final int maxCandidates) {
+        var lists = lists(query);
+
+        if (lists == null || query.length() > EditPattern.MAX_LENGTH) {
+            return;
+        }
+
+        var typos = Math.min(maxTypos, (lists.length - 1) / 3);
+        if (typos == 0) {
+            return;
+        }
+
+        Arrays.sort(lists, (left, right) -> Integer.compare(left.size(), right.size()));
+        var pattern = new EditPattern(query);
+        var required = lists.length - 3 * typos;
+        var seeds = Math.min(lists.length, 3 * typos + 1);
+        var seedCursors = new int[seeds];
+        var cursors = new int[lists.length];
+        var candidates = new ArrayList<Hit>();
+        var closest = 0;
+
+        // @note: Bounded by the postings visited rather than the documents checked, the union can be most of the index.
+        for (int visited = 0; visited < maxCandidates; visited++) {
+            var posting = nextInUnion(lists, seeds, seedCursors);
+
+            if (posting == Integer.MAX_VALUE) {
+                break;
+            }
+
+            var slot = posting >>> 1;
+            if (bankIds[slot] == DEAD || found.get(bankIds[slot]) != LongIntMap.MISSING
+                    || !sharesAtLeast(lists, cursors, posting, required)) {
+                continue;
+            }
+
+            var field = posting & 1;
+            var distance = pattern.substringDistance(normalize(field == NAME ? names[slot] : addresses[slot]));
+            if (distance <= typos) {
+                candidates.add(new Hit(bankIds[slot], names[slot], addresses[slot], field, TYPO, distance));
+
+                // @note: Nothing ranks above a single edit, enough of those end the search early.
+                if (distance <= 1 && ++closest >= limit - hits.size()) {
+                    break;
+                }
+            }
+        }
+
+        candidates.sort((left, right) -> left.typos() != right.typos()
+                ? Integer.compare(left.typos(), right.typos())
+                : Integer.compare(left.field(), right.field()));
+        for (Hit candidate : candidates) {
+            if (hits.size() >= limit) {
+                return;
+            }
+            if (found.get(candidate.bankId()) == LongIntMap.MISSING) {
+                hits.add(candidate);
+                found.put(candidate.bankId(), hits.size());
+            }
+        }
+    }
+
+    private PostingList[] lists(final String pattern) {
+        if (pattern.length() < 3) {
+            return null;
+        }
+
+        var grams = new int[pattern.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(pattern, i);
+        }
+
+        var distinct = Arrays.stream(grams).distinct().toArray();
+        var lists = new PostingList[distinct.length];
+        for (int i = 0; i < distinct.length; i++) {
+            lists[i] = postings[distinct[i]];
+
+            // @note: A trigram nothing was indexed under means no document can match it exactly.
+            if (lists[i] == null) {
+                lists[i] = new PostingList();
+            }
+        }
+        return lists;
+    }
+
+    // @note: Smallest posting at or after from that every list holds.
+    private static int nextInAll(final PostingList[] lists, final int[] cursors, final int from) {
+        var target = from;
+
+        for (int i = 0, agreed = 0; agreed < lists.length; i = (i + 1) % lists.length) {
+            cursors[i] = lists[i].advance(cursors[i], target);
+
+            if (cursors[i] >= lists[i].size()) {
+                return Integer.MAX_VALUE;
+            }
+
+            var posting = lists[i].get(cursors[i]);
+            if (posting == target) {
+                agreed++;
+            } else {
+                target = posting;
+                agreed = 1;
+            }
+        }
+        return target;
+    }
+
+    // @note: Stops as soon as the answer is known, either enough lists hold the posting or too few are left to.
+    private static boolean sharesAtLeast(final PostingList[] lists, final int[] cursors, final int posting,
+                                         final int required) {
+        var shared = 0;
+
+        for (int i = 0; i < lists.length && shared < required && shared + lists.length - i >= required; i++) {
+            cursors[i] = lists[i].advance(cursors[i], posting);
+
+            if (cursors[i] < lists[i].size() && lists[i].get(cursors[i]) == posting) {
+                shared++;
+            }
+        }
+        return shared >= required;
+    }
+
+    // @note: Smallest posting not yet returned across the first count lists, each returned once.
+    private static int nextInUnion(final PostingList[] lists, final int count, final int[] cursors) {
+        var next = Integer.MAX_VALUE;
+
+        for (int i = 0; i < count; i++) {
+            if (cursors[i] < lists[i].size()) {
+                next = Math.min(next, lists[i].get(cursors[i]));
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (cursors[i] < lists[i].size() && lists[i].get(cursors[i]) == next) {
+                cursors[i]++;
+            }
+        }
+        return next;
+    }
+
+    private void addHit(final int slot, final int field, final int match, final int typos, final List<Hit> hits,
+                        final LongIntMap found) {
+        hits.add(new Hit(bankIds[slot], names[slot], addresses[slot], field, match, typos));
+        found.put(bankIds[slot], hits.size());
+    }
+
+    private static int gram(final String text, final int index) {
+        return code(text.charAt(index)) << (2 * ALPHABET_BITS)
+                | code(text.charAt(index + 1)) << ALPHABET_BITS
+                | code(text.charAt(index + 2));
+    }
+
+    private static int code(final char c) {
+        if (c >= 'a' && c <= 'z') {
+            return 1 + c - 'a';
+        }
+        if (c >= '0' && c <= '9') {
+            return DIGIT_CODE + c - '0';
+        }
+        if (c == SEPARATOR) {
+            return SEPARATOR_CODE;
+        }
+        if (c == START) {
+            return START_CODE;
+        }
+        return OTHER_CODE + c % (START_CODE - OTHER_CODE);
+    }
+
+    private static boolean isAscii(final String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+    // endregion
+}
@@ -0,0 +1,333 @@
+package c303.c303_final.service;
+
+import c303.c303_final.cache.BankCache;
+import c303.c303_final.dtos.BankBatchItemDto;
+import c303.c303_final.dtos.BankBatchResultDto;
+import c303.c303_final.feed.BankChange;
+import c303.c303_final.model.Bank;
+import c303.c303_final.repository.BankRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("!reactive")
+public class BankBatchService {
+    //region DEFAULT(S)
+    private static final String BANK_WITH_ID_NOT_FOUND = "Bank with the provided id %s is not found.";
+    private static final String BANK_ID_REQUIRED = "Bank id is a required field for batch updates.";
+    private static final String BANK_VERSION_CONFLICT = "Bank with the provided id %s is no longer at version %s.";
+    private static final String BANK_CHUNK_CONFLICT = "Bank was not updated, another bank in the same chunk was modified concurrently.";
+    private static final String BANK_CREATED = "Bank was created successfully.";
+    private static final String BANK_UPDATED = "Bank was updated successfully.";
+    private static final String BANK_DELETED = "Bank was deleted successfully.";
+
+    // @note: Bank uses IDENTITY ids, which disables Hibernate insert batching, so inserts go through JDBC directly.
+    private static final String INSERT_BANK_SQL = """
+            INSERT INTO bank (bank_name, bank_year, bank_address, bank_atms, bank_branches, bank_employees, created_at, modified_at)
+            VALUES (:bankName, :bankYear, :bankAddress, :bankAtms, :bankBranches, :bankEmployees, :createdAt, :modifiedAt)
+            """;
+    private static final String[] BANK_QUERY_SPACES = { "bank" };
+    //endregion
+
+    private final BankRepository bankRepository;
+    private final BankService bankService;
+    private final BankCache bankCache;
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    @Autowired
+    public BankBatchService(
+            BankRepository bankRepository,
+            BankService bankService,
+            BankCache bankCache,
+            EntityManager entityManager,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            Validator validator,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${bank.batch.chunk-size:500}") int chunkSize
+    ) {
+        this.bankRepository = bankRepository;
+        this.bankService = bankService;
+        this.bankCache = bankCache;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    public BankBatchResultDto createBanks(final List<Bank> banks) {
+        return runInChunks(banks.size(), (from, to) -> createChunk(banks, from, to));
+    }
+
+    public BankBatchResultDto updateBanks(final List<Bank> banks) {
+        return runInChunks(banks.size(), (from, to) -> updateChunk(banks, from, to));
+    }
+
+    public BankBatchResultDto deleteBanks(final List<Long> ids) {
+        return runInChunks(ids.size(), (from, to) -> deleteChunk(ids, from, to));
+    }
+
+    // region Chunks
+    private List<BankBatchItemDto> createChunk(final List<Bank> banks, final int from, final int to) {
+        var results = new ArrayList<BankBatchItemDto>(to - from);
+        var validIndexes = new ArrayList<Integer>(to - from);
+        var validBanks = new ArrayList<Bank>(to - from);
+
+        for (int i = from; i < to; i++) {
+            var bank = banks.get(i);
+            var violations = validator.validate(bank);
+
+            if (!violations.isEmpty()) {
+                results.add(new BankBatchItemDto(i, null, false, joinViolations(violations)));
+                continue;
+            }
+
+            validIndexes.add(i);
+            validBanks.add(bank);
+        }
+
+        var bankIds = insertBanks(validBanks);
+        for (int i = 0; i < validIndexes.size(); i++) {
+            results.add(new BankBatchItemDto(validIndexes.get(i), i < bankIds.size() ? bankIds.get(i) : null, true, BANK_CREATED));
+        }
+        return results;
+    }
+
+    private List<BankBatchItemDto> updateChunk(final List<Bank> banks, final int from, final int to) {
+        var results = new ArrayList<BankBatchItemDto>(to - from);
+        var previousNames = new HashMap<Long, String>();
+        var updatedBanks = new ArrayList<Bank>(to - from);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                var existing = findExistingByIds(banks.subList(from, to).stream()
+                        .map(Bank::getBankId)
+                        .toList());
+
+                for (int i = from; i < to; i++) {
+                    var source = banks.get(i);
+
+                    if (source.getBankId() == null) {
+                        results.add(new BankBatchItemDto(i, null, false, BANK_ID_REQUIRED));
+                        continue;
+                    }
+
+                    var target = existing.get(source.getBankId());
+                    if (target == null) {
+                        results.add(new BankBatchItemDto(i, source.getBankId(), false,
+                                String.format(BANK_WITH_ID_NOT_FOUND, source.getBankId())));
+                        continue;
+                    }
+
+                    if (source.getVersion() != null && !source.getVersion().equals(target.getVersion())) {
+                        results.add(new BankBatchItemDto(i, source.getBankId(), false,
+                                String.format(BANK_VERSION_CONFLICT, source.getBankId(), source.getVersion())));
+                        continue;
+                    }
+
+                    var previousName = target.getBankName();
+                    BankService.updateBankAttributes(target, source);
+
+                    var violations = validator.validate(target);
+                    if (!violations.isEmpty()) {
+                        // @note: Detaching drops the in-memory changes so the invalid row is never flushed.
+                        entityManager.detach(target);
+                        results.add(new BankBatchItemDto(i, source.getBankId(), false, joinViolations(violations)));
+                        continue;
+                    }
+
+                    previousNames.putIfAbsent(target.getBankId(), previousName);
+                    updatedBanks.add(target);
+                    results.add(new BankBatchItemDto(i, source.getBankId(), true, BANK_UPDATED));
+                }
+
+                // @note: Dirty entities are flushed as JDBC batched UPDATEs (see hibernate.jdbc.batch_size),
+                //        each one carries a version check so a row changed since the read rolls the chunk back.
+                entityManager.flush();
+            });
+        } catch (OptimisticLockException | OptimisticLockingFailureException e) {
+            return results.stream()
+                    .map(item -> item.getSuccess()
+                            ? new BankBatchItemDto(item.getIndex(), item.getBankId(), false, BANK_CHUNK_CONFLICT)
+                            : item)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        previousNames.values().forEach(bankCache::evictName);
+        updatedBanks.forEach(bankCache::put);
+        bankService.forgetInFlightLookups(previousNames.keySet());
+        publishBulkChange(updatedBanks.size());
+        return results;
+    }
+
+    private List<BankBatchItemDto> deleteChunk(final List<Long> ids, final int from, final int to) {
+        var results = new ArrayList<BankBatchItemDto>(to - from);
+        var deletedBanks = new ArrayList<Bank>(to - from);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var existing = findExistingByIds(ids.subList(from, to));
+
+            for (int i = from; i < to; i++) {
+                var id = ids.get(i);
+                var bank = id == null ? null : existing.get(id);
+
+                if (bank == null) {
+                    results.add(new BankBatchItemDto(i, id, false, String.format(BANK_WITH_ID_NOT_FOUND, id)));
+                    continue;
+                }
+
+                deletedBanks.add(bank);
+                results.add(new BankBatchItemDto(i, id, true, BANK_DELETED));
+            }
+
+            if (!existing.isEmpty()) {
+                bankRepository.deleteAllByIdInBatch(existing.keySet());
+            }
+        });
+
+        deletedBanks.forEach(bankCache::evict);
+        bankService.forgetInFlightLookups(deletedBanks.stream().map(Bank::getBankId).toList());
+        publishBulkChange(deletedBanks.size());
+        return results;
+    }
+    // endregion
+
+    // region Helpers
+    // @note: Inserts already validated banks as one JDBC batch in its own transaction, returns the generated ids in order.
+    List<Long> insertBanks(final List<Bank> banks) {
+        if (banks.isEmpty()) {
+            return List.of();
+        }
+
+        var now = Timestamp.from(Instant.now());
+        var params = new ArrayList<SqlParameterSource>(banks.size());
+
+        for (Bank bank : banks) {
+            params.add(new MapSqlParameterSource()
+                    .addValue("bankName", bank.getBankName())
+                    .addValue("bankYear", bank.getBankYear())
+                    .addValue("bankAddress", bank.getBankAddress())
+                    .addValue("bankAtms", bank.getBankAtms())
+                    .addValue("bankBranches", bank.getBankBranches())
+                    .addValue("bankEmployees", bank.getBankEmployees())
+                    .addValue("createdAt", now)
+                    .addValue("modifiedAt", now));
+        }
+
+        var keyHolder = new GeneratedKeyHolder();
+        transactionTemplate.executeWithoutResult(status -> {
+            invalidateBankQuerySpace();
+            jdbcTemplate.batchUpdate(
+                    INSERT_BANK_SQL,
+                    params.toArray(SqlParameterSource[]::new),
+                    keyHolder,
+                    new String[] { "bank_id" });
+        });
+
+        banks.forEach(bank -> bankCache.evictName(bank.getBankName()));
+        publishBulkChange(banks.size());
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    // @note: These rows never go through Hibernate, so the bank table is marked changed the way Hibernate marks it
+    //        for its own bulk statements. Pre-invalidated, a query result read while the insert is uncommitted is not
+    //        cached, invalidated again on completion, a result cached before the insert is never hit after it.
+    private void invalidateBankQuerySpace() {
+        var session = entityManager.unwrap(SessionImplementor.class);
+        var timestampsCache = session.getFactory().getCache().getTimestampsCache();
+
+        timestampsCache.preInvalidate(BANK_QUERY_SPACES, session);
+        session.getActionQueue().registerProcess((success, completed) -> timestampsCache.invalidate(BANK_QUERY_SPACES, completed));
+    }
+
+    // @note: One event per committed chunk, a delta per row would overrun every subscriber buffer on a large import.
+    private void publishBulkChange(final int count) {
+        if (count > 0) {
+            eventPublisher.publishEvent(BankChange.bulk(count));
+        }
+    }
+
+    private BankBatchResultDto runInChunks(final int total, final ChunkProcessor processor) {
+        var startedAt = System.nanoTime();
+        var items = new ArrayList<BankBatchItemDto>(total);
+
+        for (int from = 0; from < total; from += chunkSize) {
+            var to = Math.min(from + chunkSize, total);
+            var chunk = processor.process(from, to);
+
+            chunk.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+            items.addAll(chunk);
+
+            // @note: The persistence context is transaction scoped and holds every bank a chunk loads until it commits.
+            //        Chunks run inside a caller's transaction share that one context, so it is cleared between them.
+            entityManager.clear();
+        }
+
+        var elapsedNanos = System.nanoTime() - startedAt;
+        var succeeded = (int) items.stream().filter(BankBatchItemDto::getSuccess).count();
+
+        return new BankBatchResultDto(
+                items,
+                succeeded,
+                items.size() - succeeded,
+                elapsedNanos / 1_000_000,
+                elapsedNanos == 0 ? 0.0 : succeeded / (elapsedNanos / 1_000_000_000.0));
+    }
+
+    private Map<Long, Bank> findExistingByIds(final Collection<Long> ids) {
+        var distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        return bankRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(Bank::getBankId, Function.identity(), (a, b) -> a, HashMap::new));
+    }
+
+    static String joinViolations(final Set<ConstraintViolation<Bank>> violations) {
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(" "));
+    }
+
+    @FunctionalInterface
+    private interface ChunkProcessor {
+        List<BankBatchItemDto> process(int from, int to);
+    }
+    // endregion
+}
@@ -0,0 +1,93 @@
+package c303.c303_final.service;
+
+import c303.c303_final.dtos.BankExportResultDto;
+import c303.c303_final.export.BankExportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@Profile("!reactive")
+public class BankExportService {
+    //region DEFAULT(S)
+    public static final MediaType APPLICATION_GZIP = MediaType.valueOf("application/gzip");
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter
+            .ofPattern("yyyyMMdd-HHmmss-SSS")
+            .withZone(ZoneOffset.UTC);
+    //endregion
+
+    private final BankService bankService;
+    private final Path exportDirectory;
+
+    @Autowired
+    public BankExportService(
+            BankService bankService,
+            @Value("${bank.export.directory:${java.io.tmpdir}/bank-exports}") Path exportDirectory
+    ) {
+        this.bankService = bankService;
+        this.exportDirectory = exportDirectory;
+    }
+
+    // @note: Rows go from the server-side cursor to the stream one at a time, memory does not grow with the table.
+    //        The stream is finished but left open, closing it stays with whoever opened it.
+    public long exportBanks(final BankExportFormat format, final boolean gzip, final OutputStream outputStream)
+            throws IOException {
+        var target = gzip ? new GZIPOutputStream(outputStream, 1 << 16, true) : outputStream;
+        var rows = new AtomicLong();
+
+        try (var writer = format.writer(target)) {
+            bankService.streamAllBanks(bank -> {
+                try {
+                    writer.write(bank);
+                    rows.incrementAndGet();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (target instanceof GZIPOutputStream gzipOutputStream) {
+            gzipOutputStream.finish();
+        }
+        return rows.get();
+    }
+
+    public BankExportResultDto exportBanksToFile(final BankExportFormat format, final boolean gzip) throws IOException {
+        Files.createDirectories(exportDirectory);
+
+        var startedAt = System.nanoTime();
+        var file = exportDirectory.resolve(String.format("banks-%s%s%s",
+                FILE_TIMESTAMP.format(Instant.now()),
+                format.getExtension(),
+                gzip ? ".gz" : ""));
+
+        long rows;
+        try (var outputStream = Files.newOutputStream(file)) {
+            rows = exportBanks(format, gzip, outputStream);
+        }
+
+        return new BankExportResultDto(
+                file.toAbsolutePath().toString(),
+                format.name(),
+                gzip,
+                rows,
+                Files.size(file),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+}
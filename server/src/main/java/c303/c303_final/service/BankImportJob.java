@@ -0,0 +1,90 @@
+package c303.c303_final.service;
+
+import c303.c303_final.dtos.BankImportErrorDto;
+import c303.c303_final.dtos.BankImportJobDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// @note: Mutable progress of one import, written by the import threads and read by status polls.
+class BankImportJob {
+    enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+
+    private final String jobId = UUID.randomUUID().toString();
+    private final int maxErrors;
+    private final List<BankImportErrorDto> errors = new ArrayList<>();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private volatile Status status = Status.PENDING;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    BankImportJob(final int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    String getJobId() {
+        return jobId;
+    }
+
+    void start() {
+        startedAt = System.nanoTime();
+        status = Status.RUNNING;
+    }
+
+    void finish(final Status finalStatus) {
+        finishedAt = System.nanoTime();
+        status = finalStatus;
+    }
+
+    void fail(final String message) {
+        synchronized (errors) {
+            errors.add(new BankImportErrorDto(null, message));
+        }
+        finish(Status.FAILED);
+    }
+
+    void rowsRead(final long rows) {
+        rowsRead.addAndGet(rows);
+    }
+
+    void rowsImported(final long rows) {
+        rowsImported.addAndGet(rows);
+    }
+
+    void rowsFailed(final List<BankImportErrorDto> failures) {
+        rowsFailed.addAndGet(failures.size());
+
+        synchronized (errors) {
+            for (var failure : failures) {
+                if (errors.size() >= maxErrors) {
+                    break;
+                }
+                errors.add(failure);
+            }
+        }
+    }
+
+    BankImportJobDto snapshot() {
+        var elapsedNanos = startedAt == 0 ? 0 : (finishedAt == 0 ? System.nanoTime() : finishedAt) - startedAt;
+        var imported = rowsImported.get();
+
+        List<BankImportErrorDto> errorsCopy;
+        synchronized (errors) {
+            errorsCopy = List.copyOf(errors);
+        }
+
+        return new BankImportJobDto(
+                jobId,
+                status.name(),
+                rowsRead.get(),
+                imported,
+                rowsFailed.get(),
+                elapsedNanos / 1_000_000,
+                elapsedNanos == 0 ? 0.0 : imported / (elapsedNanos / 1_000_000_000.0),
+                errorsCopy);
+    }
+}
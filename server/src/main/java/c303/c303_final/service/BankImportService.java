@@ -0,0 +1,326 @@
+package c303.c303_final.service;
+
+import c303.c303_final.dtos.BankImportErrorDto;
+import c303.c303_final.dtos.BankImportJobDto;
+import c303.c303_final.model.Bank;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Profile("!reactive")
+public class BankImportService {
+    //region DEFAULT(S)
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    private static final String IMPORT_FORMAT_NOT_SUPPORTED = "Import format %s is not supported, use text/csv or application/x-ndjson.";
+    private static final String IMPORT_HEADER_NOT_PARSED = "Header could not be parsed: %s";
+    private static final String IMPORT_ROW_NOT_PARSED = "Row could not be parsed: %s";
+    private static final String IMPORT_BLOCK_NOT_WRITTEN = "Row was valid but its block could not be written: %s";
+    private static final String IMPORT_FAILED = "Import stopped before the end of the file: %s";
+    private static final ImportBlock END_OF_INPUT = new ImportBlock(List.of(), List.of(), List.of());
+    private static final Duration READER_POLL_INTERVAL = Duration.ofMillis(100);
+    //endregion
+
+    private final BankBatchService bankBatchService;
+    private final Validator validator;
+    private final ObjectReader ndjsonReader;
+    private final CsvMapper csvMapper;
+    private final Cache<String, BankImportJob> jobs;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService validationExecutor;
+    private final int blockSize;
+    private final int queueCapacity;
+    private final int maxErrors;
+
+    @Autowired
+    public BankImportService(
+            BankBatchService bankBatchService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${bank.import.block-size:1000}") int blockSize,
+            @Value("${bank.import.queue-capacity:8}") int queueCapacity,
+            @Value("${bank.import.validation-threads:0}") int validationThreads,
+            @Value("${bank.import.max-errors:100}") int maxErrors,
+            @Value("${bank.import.job-retention:PT1H}") Duration jobRetention
+    ) {
+        this.bankBatchService = bankBatchService;
+        this.validator = validator;
+        this.ndjsonReader = objectMapper.readerFor(Bank.class);
+        this.csvMapper = CsvMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(jobRetention)
+                .build();
+        this.blockSize = blockSize;
+        this.queueCapacity = queueCapacity;
+        this.maxErrors = maxErrors;
+
+        // @note: One import runs at a time, later uploads wait as PENDING instead of competing for the pool. Their
+        //        requests stay open until their queues have room, the uploads are not buffered in the meantime.
+        this.jobExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("bank-import-job-"));
+        this.validationExecutor = Executors.newFixedThreadPool(
+                validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors(),
+                new CustomizableThreadFactory("bank-import-validation-"));
+    }
+
+    // @note: The body is parsed straight off the request on its own thread and handed to the pipeline below in
+    //        blocks, so the upload is never copied anywhere and a full queue throttles the client. The request returns
+    //        the job id once the last block is queued, the writer keeps committing them in the background.
+    public BankImportJobDto importBanks(final InputStream body, final MediaType contentType) throws IOException {
+        var csv = isCsv(contentType);
+        var job = new BankImportJob(maxErrors);
+        var blocks = new ArrayBlockingQueue<Future<ImportBlock>>(queueCapacity);
+        var reading = new CompletableFuture<Void>();
+
+        jobs.put(job.getJobId(), job);
+        var writer = jobExecutor.submit(() -> runJob(job, blocks, reading));
+
+        try {
+            readBlocks(body, csv, blocks, writer);
+            reading.complete(null);
+        } catch (IOException | RuntimeException e) {
+            reading.completeExceptionally(e);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reading.completeExceptionally(e);
+        }
+        return job.snapshot();
+    }
+
+    public BankImportJobDto findImportJob(final String jobId) {
+        var job = jobId == null ? null : jobs.getIfPresent(jobId);
+        return job == null ? null : job.snapshot();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        validationExecutor.shutdownNow();
+    }
+
+    // region Pipeline
+    // @note: reader -> validation pool -> bounded queue -> writer. The queue holds futures in upload order, so a
+    //        full queue blocks the reader (backpressure) and the writer still commits blocks in sequence.
+    private void runJob(final BankImportJob job, final BlockingQueue<Future<ImportBlock>> blocks, final Future<Void> reading) {
+        job.start();
+
+        try {
+            writeBlocks(blocks, reading, job);
+            job.finish(BankImportJob.Status.COMPLETED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail(String.format(IMPORT_FAILED, "the import was interrupted."));
+        } catch (ExecutionException | RuntimeException e) {
+            job.fail(String.format(IMPORT_FAILED, (e.getCause() == null ? e : e.getCause()).getMessage()));
+        }
+    }
+
+    private void readBlocks(
+            final InputStream body,
+            final boolean csv,
+            final BlockingQueue<Future<ImportBlock>> blocks,
+            final Future<?> writer
+    ) throws IOException, InterruptedException {
+        var lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        var lineNumber = 0L;
+        var rowReader = ndjsonReader;
+
+        if (csv) {
+            var header = lines.readLine();
+            lineNumber++;
+
+            if (header == null) {
+                enqueue(blocks, CompletableFuture.completedFuture(END_OF_INPUT), writer);
+                return;
+            }
+            rowReader = csvRowReader(header);
+        }
+
+        var block = new ArrayList<String>(blockSize);
+        var firstLine = lineNumber + 1;
+        String line;
+
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            block.add(line);
+
+            if (block.size() == blockSize) {
+                if (!enqueue(blocks, submitBlock(rowReader, block, firstLine), writer)) {
+                    return;
+                }
+                block = new ArrayList<>(blockSize);
+                firstLine = lineNumber + 1;
+            }
+        }
+
+        if (!block.isEmpty() && !enqueue(blocks, submitBlock(rowReader, block, firstLine), writer)) {
+            return;
+        }
+        enqueue(blocks, CompletableFuture.completedFuture(END_OF_INPUT), writer);
+    }
+
+    // @note: Gives up once the writer is done, a job that already failed takes no more blocks and the rest of the
+    //        upload is left unread.
+    private static boolean enqueue(
+            final BlockingQueue<Future<ImportBlock>> blocks,
+            final Future<ImportBlock> block,
+            final Future<?> writer
+    ) throws InterruptedException {
+        while (!blocks.offer(block, READER_POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Future<ImportBlock> submitBlock(final ObjectReader rowReader, final List<String> lines, final long firstLine) {
+        return validationExecutor.submit(() -> parseBlock(rowReader, lines, firstLine));
+    }
+
+    private ImportBlock parseBlock(final ObjectReader rowReader, final List<String> lines, final long firstLine) {
+        var banks = new ArrayList<Bank>(lines.size());
+        var bankLines = new ArrayList<Long>(lines.size());
+        var errors = new ArrayList<BankImportErrorDto>();
+
+        for (int i = 0; i < lines.size(); i++) {
+            var line = lines.get(i);
+            var lineNumber = firstLine + i;
+
+            if (line.isBlank()) {
+                continue;
+            }
+
+            try {
+                Bank bank = rowReader.readValue(line);
+                var violations = validator.validate(bank);
+
+                if (!violations.isEmpty()) {
+                    errors.add(new BankImportErrorDto(lineNumber, BankBatchService.joinViolations(violations)));
+                    continue;
+                }
+
+                banks.add(bank);
+                bankLines.add(lineNumber);
+            } catch (JsonProcessingException e) {
+                errors.add(new BankImportErrorDto(lineNumber, String.format(IMPORT_ROW_NOT_PARSED, e.getOriginalMessage())));
+            }
+        }
+        return new ImportBlock(banks, bankLines, errors);
+    }
+
+    private void writeBlocks(
+            final BlockingQueue<Future<ImportBlock>> blocks,
+            final Future<Void> reading,
+            final BankImportJob job
+    ) throws InterruptedException, ExecutionException {
+        while (true) {
+            var next = blocks.poll(READER_POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+
+            // @note: A finished reader with nothing left queued means no end marker is coming, get() rethrows why.
+            //        The queue is checked again after isDone(), the reader may have put its last blocks since the poll.
+            if (next == null) {
+                if (reading.isDone() && blocks.isEmpty()) {
+                    reading.get();
+                    return;
+                }
+                continue;
+            }
+
+            var block = next.get();
+
+            if (block == END_OF_INPUT) {
+                return;
+            }
+
+            job.rowsRead(block.banks().size() + block.errors().size());
+            job.rowsFailed(block.errors());
+
+            try {
+                bankBatchService.insertBanks(block.banks());
+                job.rowsImported(block.banks().size());
+            } catch (DataAccessException e) {
+                var message = String.format(IMPORT_BLOCK_NOT_WRITTEN, e.getMostSpecificCause().getMessage());
+                job.rowsFailed(block.lines().stream()
+                        .map(line -> new BankImportErrorDto(line, message))
+                        .toList());
+            }
+        }
+    }
+    // endregion
+
+    // region Helpers
+    private static boolean isCsv(final MediaType contentType) {
+        if (contentType != null && TEXT_CSV.isCompatibleWith(contentType)) {
+            return true;
+        }
+
+        if (contentType != null && MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return false;
+        }
+        throw new IllegalArgumentException(String.format(IMPORT_FORMAT_NOT_SUPPORTED, contentType));
+    }
+
+    // @note: Records are read one line at a time, so quoted CSV values cannot span lines. The header goes through the
+    //        same CSV parser as the rows, quoted or escaped column names are read the way a row's values would be.
+    private ObjectReader csvRowReader(final String header) throws IOException {
+        String[] columns;
+
+        try {
+            columns = csvMapper.readerFor(String[].class)
+                    .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                    .<String[]>readValues(header)
+                    .nextValue();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(String.format(IMPORT_HEADER_NOT_PARSED, e.getOriginalMessage()));
+        }
+
+        var schema = CsvSchema.builder();
+
+        for (String column : columns) {
+            schema.addColumn(column.trim());
+        }
+        return csvMapper.readerFor(Bank.class).with(schema.build());
+    }
+
+    private record ImportBlock(List<Bank> banks, List<Long> lines, List<BankImportErrorDto> errors) {
+    }
+    // endregion
+}
@@ -1,38 +1,259 @@
 package c303.c303_final.service;
 
+import c303.c303_final.cache.BankCache;
+import c303.c303_final.datasource.PrimaryReads;
+import c303.c303_final.dtos.BankCacheStatsDto;
+import c303.c303_final.dtos.BankDto;
+import c303.c303_final.dtos.BankLookupDto;
+import c303.c303_final.dtos.BankMultiGetDto;
+import c303.c303_final.dtos.BankPageDto;
+import c303.c303_final.dtos.BankSearchCriteriaDto;
+import c303.c303_final.dtos.BankStatsDto;
+import c303.c303_final.dtos.BankVersionDto;
+import c303.c303_final.feed.BankChange;
 import c303.c303_final.model.Bank;
 import c303.c303_final.repository.BankRepository;
+import c303.c303_final.repository.BankSpecifications;
+import c303.c303_final.util.CursorToken;
+import c303.c303_final.util.ETagGenerator;
+import c303.c303_final.util.MicroBatcher;
+import c303.c303_final.util.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Profile("!reactive")
 public class BankService {
     //region DEFAULT(S)
     private static final String BANK_WITH_ID_NOT_FOUND = "Bank with the provided id %s is not found.";
     private static final String BANK_WITH_NAME_NOT_FOUND = "Bank with the provided name %s is not found.";
+    private static final String SORT_PROPERTY_NOT_SUPPORTED = "Sorting by %s is not supported.";
+    private static final String BANK_VERSION_CONFLICT = "Bank with the provided id %s is no longer at version %s.";
+    private static final String BANK_PRECONDITION_NOT_MATCHED = "If-Match does not carry an ETag for bank with id %s.";
+    private static final String BANK_WRITE_CONTENDED = "Bank with the provided id %s kept changing, gave up after %s attempts.";
+    private static final String TOO_MANY_LOOKUP_KEYS = "At most %s bank ids and names can be looked up at once.";
+    private static final int DEFAULT_TOP_BANKS = 10;
+    private static final int MAX_TOP_BANKS = 100;
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of(
+            "bankId", "bankName", "bankYear", "bankAtms", "bankBranches", "bankEmployees");
     //endregion
 
     private final BankRepository bankRepository;
+    private final EntityManager entityManager;
+    private final BankCache bankCache;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxWriteAttempts;
+    private final int maxLookupKeys;
+    private final boolean replicated;
+    private final Counter writeRetries;
+    private final Counter writeConflicts;
+    private final SingleFlight<Long, Bank> idLookups;
+    private final SingleFlight<String, Bank> nameLookups;
+    private final MicroBatcher<Long, Bank> idBatcher;
 
     @Autowired
-    public BankService(BankRepository bankRepository) {
+    public BankService(
+            BankRepository bankRepository,
+            EntityManager entityManager,
+            BankCache bankCache,
+            Validator validator,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${bank.pagination.default-page-size:50}") int defaultPageSize,
+            @Value("${bank.pagination.max-page-size:500}") int maxPageSize,
+            @Value("${bank.concurrency.max-write-attempts:3}") int maxWriteAttempts,
+            @Value("${bank.multi-get.max-keys:500}") int maxLookupKeys,
+            @Value("${bank.coalescing.batch-window:PT0S}") Duration batchWindow,
+            @Value("${bank.coalescing.max-batch-size:100}") int maxBatchSize,
+            @Value("${bank.datasource.replica-urls:}") List<String> replicaUrls,
+            MeterRegistry meterRegistry
+    ) {
         this.bankRepository = bankRepository;
+        this.entityManager = entityManager;
+        this.bankCache = bankCache;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxWriteAttempts = maxWriteAttempts;
+        this.maxLookupKeys = maxLookupKeys;
+        this.replicated = !replicaUrls.isEmpty();
+        this.writeRetries = meterRegistry.counter("bank.writes.optimistic", "outcome", "retried");
+        this.writeConflicts = meterRegistry.counter("bank.writes.optimistic", "outcome", "conflict");
+        this.idLookups = new SingleFlight<>("id", meterRegistry);
+        this.nameLookups = new SingleFlight<>("name", meterRegistry);
+
+        // @note: A zero window turns micro-batching off, each coalesced id lookup then runs its own query.
+        this.idBatcher = batchWindow.isZero() ? null : new MicroBatcher<>("id", batchWindow, maxBatchSize,
+                ids -> bankRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Bank::getBankId, Function.identity())),
+                meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (idBatcher != null) {
+            idBatcher.close();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<BankDto> findAllBanks(final Set<String> fields) {
+        return bankRepository.findBankDtos(fields, null, null);
     }
 
-    public List<Bank> findAllBanks() {
-        return bankRepository.findAll();
+    public BankPageDto findBankPage(final String cursor, final Integer pageSize, final Set<String> fields) {
+        var size = resolvePageSize(pageSize);
+
+        // @note: Fetch one extra row so we know whether a next page exists without a COUNT query.
+        var banks = bankRepository.findBankDtos(fields, CursorToken.decode(cursor), size + 1);
+
+        if (banks.size() <= size) {
+            return new BankPageDto(banks, size, null);
+        }
+
+        var page = banks.subList(0, size);
+        return new BankPageDto(page, size, CursorToken.encode(page.get(size - 1).getBankId()));
     }
 
+    @Transactional(readOnly = true)
+    public void streamAllBanks(final Consumer<Bank> consumer) {
+        try (var banks = bankRepository.streamAllBanks()) {
+            banks.forEach(bank -> {
+                consumer.accept(bank);
+
+                // @note: Detach each row once written so the persistence context does not grow with the table.
+                entityManager.detach(bank);
+            });
+        }
+    }
+
+    // @note: A client that has to read its own writes loads on its own, the single flight or batch it would join
+    //        may be reading from a replica. Only its loads fill the cache when replicas are configured.
+    @Transactional(readOnly = true)
     public Bank findBankById(final Long id) {
-        return findBankByIdOrThrowException(id);
+        if (PrimaryReads.isRequired()) {
+            return bankCache.getById(id, this::findBankByIdOrThrowException);
+        }
+
+        // @note: Only cache misses reach the single flight, concurrent misses for one id then share a single query.
+        Function<Long, Bank> loader = key -> idLookups.execute(key, this::findBankByIdOrThrowException);
+        return replicated ? bankCache.getByIdUncached(id, loader) : bankCache.getById(id, loader);
     }
 
+    @Transactional(readOnly = true)
     public Bank findBankByBankName(final String bankName) {
-        return findBankByBankNameOrThrowException(bankName);
+        if (PrimaryReads.isRequired()) {
+            return bankCache.getByName(bankName, this::findBankByBankNameOrThrowException);
+        }
+
+        Function<String, Bank> loader = key -> nameLookups.execute(key, this::findBankByBankNameOrThrowException);
+        return replicated ? bankCache.getByNameUncached(bankName, loader) : bankCache.getByName(bankName, loader);
+    }
+
+    // @note: One IN query per key type however many keys are asked for, instead of a find/id round trip per bank.
+    @Transactional(readOnly = true)
+    public BankMultiGetDto findBanks(final BankLookupDto lookup) {
+        var ids = distinct(lookup.getBankIds());
+        var names = distinct(lookup.getBankNames());
+
+        if (ids.size() + names.size() > maxLookupKeys) {
+            throw new IllegalArgumentException(String.format(TOO_MANY_LOOKUP_KEYS, maxLookupKeys));
+        }
+
+        var banksById = new HashMap<Long, Bank>();
+        var banksByName = new HashMap<String, Bank>();
+        if (!ids.isEmpty()) {
+            bankRepository.findByBankIdIn(ids).forEach(bank -> banksById.put(bank.getBankId(), bank));
+        }
+        if (!names.isEmpty()) {
+            bankRepository.findByBankNameInOrderByBankIdAsc(names).forEach(bank -> banksByName.putIfAbsent(bank.getBankName(), bank));
+        }
+
+        var foundById = new LinkedHashMap<Long, Bank>();
+        var foundByName = new LinkedHashMap<String, Bank>();
+        var missingIds = new ArrayList<Long>();
+        var missingNames = new ArrayList<String>();
+        collectInRequestOrder(ids, banksById, foundById, missingIds);
+        collectInRequestOrder(names, banksByName, foundByName, missingNames);
+
+        return new BankMultiGetDto(foundById, foundByName, missingIds, missingNames);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Bank> searchBanks(final BankSearchCriteriaDto criteria, final Pageable pageable) {
+        pageable.getSort().forEach(order -> {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException(String.format(SORT_PROPERTY_NOT_SUPPORTED, order.getProperty()));
+            }
+        });
+
+        return bankRepository.findAll(BankSpecifications.matching(criteria), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public BankVersionDto findBankVersion() {
+        return bankRepository.findBankVersion();
+    }
+
+    // @note: Aggregates run in the database and the result is memoized against the table version, so repeated
+    //        dashboard loads cost the version lookup only until a write changes the table.
+    @Transactional(readOnly = true)
+    public BankStatsDto findBankStats(final Integer top) {
+        var topBanks = top == null ? DEFAULT_TOP_BANKS : Math.max(1, Math.min(top, MAX_TOP_BANKS));
+        var version = bankRepository.findBankVersion();
+
+        return bankCache.getStats(List.of(version, topBanks), key -> new BankStatsDto(
+                bankRepository.findBankTotals(),
+                bankRepository.findBankDecadeHistogram(),
+                bankRepository.findByOrderByBankAtmsDescBankIdAsc(Limit.of(topBanks))));
+    }
+
+    // @note: Service cache indexes first, then the Hibernate second-level cache regions underneath them.
+    public List<BankCacheStatsDto> findCacheStats() {
+        var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        var stats = new ArrayList<>(bankCache.stats());
+
+        stats.add(toRegionStats(Bank.CACHE_REGION, statistics.getDomainDataRegionStatistics(Bank.CACHE_REGION)));
+        stats.add(toRegionStats(Bank.QUERY_CACHE_REGION, statistics.getQueryRegionStatistics(Bank.QUERY_CACHE_REGION)));
+        return stats;
     }
 
     public Bank createBank(final Bank bank) {
@@ -47,58 +268,102 @@ public class BankService {
                 .ModifiedAt(Instant.now())
                 .build();
 
-        return bankRepository.save(bankEntity);
+        var savedBank = bankRepository.save(bankEntity);
+        bankCache.put(savedBank);
+        eventPublisher.publishEvent(BankChange.inserted(savedBank));
+        return savedBank;
     }
 
-    public Boolean updateBankByBankId(final Bank bank, final Long id) {
-        var bankToUpdate = findBankByIdOrThrowException(id);
+    // @note: Writes by id are a single versioned statement, a null If-Match applies them unconditionally.
+    public Boolean updateBankByBankId(final Bank bank, final Long id, final String ifMatch) {
+        patchBankByIdOrThrowException(bank, id, expectedVersion(ifMatch, id));
+        return true;
+    }
 
-        updateBankAttributes(bankToUpdate, bank);
-        bankRepository.save(bankToUpdate);
+    public Boolean updateBankByBankName(final Bank bank, final String bankName, final String ifMatch) {
+        writeBankByNameWithRetry(bankName, ifMatch, (bankId, version) -> patchBankByIdOrThrowException(bank, bankId, version));
         return true;
     }
 
-    public Boolean updateBankByBankName(final Bank bank, final String bankName) {
-        var bankToUpdate = findBankByBankNameOrThrowException(bankName);
+    public Boolean deleteBankByBankId(final Long id, final String ifMatch) {
+        deleteBankByIdOrThrowException(id, expectedVersion(ifMatch, id));
+        return true;
+    }
 
-        updateBankAttributes(bankToUpdate, bank);
-        bankRepository.save(bankToUpdate);
+    public Boolean deleteBankByBankName(final String bankName, final String ifMatch) {
+        writeBankByNameWithRetry(bankName, ifMatch, this::deleteBankByIdOrThrowException);
         return true;
     }
 
-    public Boolean deleteBankByBankId(final Long id) {
-        var bankToDelete = findBankByIdOrThrowException(id);
+    public Boolean patchBankByBankId(final Bank bank, final Long id, final String ifMatch) {
+        patchBankByIdOrThrowException(bank, id, expectedVersion(ifMatch, id));
+        return true;
+    }
 
-        bankRepository.delete(bankToDelete);
+    public Boolean patchBankByBankName(final Bank bank, final String bankName, final String ifMatch) {
+        writeBankByNameWithRetry(bankName, ifMatch, (bankId, version) -> patchBankByIdOrThrowException(bank, bankId, version));
         return true;
     }
 
-    public Boolean deleteBankByBankName(final String bankName) {
-        var bankToDelete = findBankByBankNameOrThrowException(bankName);
+    // @note: Lookups arriving after a write must not join a query that may have read the rows before it. The old
+    //        names are not known here, so every in-flight name lookup is let go, they are only the ones running now.
+    void forgetInFlightLookups(final Collection<Long> ids) {
+        ids.forEach(idLookups::forget);
+        nameLookups.forgetAll();
+    }
+
+    // region Helpers
+    private static <K> Set<K> distinct(final List<K> keys) {
+        var distinct = new LinkedHashSet<K>();
 
-        bankRepository.delete(bankToDelete);
-        return true;
+        if (keys != null) {
+            keys.stream().filter(Objects::nonNull).forEach(distinct::add);
+        }
+        return distinct;
     }
 
-    public Boolean patchBankByBankId(final Bank bank, final Long id) {
-        var bankToUpdate = findBankByIdOrThrowException(id);
+    private static <K> void collectInRequestOrder(final Set<K> keys, final Map<K, Bank> banks,
+                                                  final Map<K, Bank> found, final List<K> missing) {
+        keys.forEach(key -> {
+            var bank = banks.get(key);
 
-        updateBankAttributes(bankToUpdate, bank);
-        bankRepository.save(bankToUpdate);
-        return true;
+            if (bank == null) {
+                missing.add(key);
+                return;
+            }
+            found.put(key, bank);
+        });
     }
 
-    public Boolean patchBankByBankName(final Bank bank, final String bankName) {
-        var bankToUpdate = findBankByBankNameOrThrowException(bankName);
+    // @note: JCache regions do not report their size to Hibernate (-1) and Hibernate does not count evictions.
+    private static BankCacheStatsDto toRegionStats(final String region, final CacheRegionStatistics stats) {
+        var requests = stats.getHitCount() + stats.getMissCount();
+
+        return new BankCacheStatsDto(
+                "region:" + region,
+                stats.getElementCountInMemory() < 0 ? null : stats.getElementCountInMemory(),
+                stats.getHitCount(),
+                stats.getMissCount(),
+                null,
+                requests == 0 ? 1.0 : (double) stats.getHitCount() / requests);
+    }
 
-        updateBankAttributes(bankToUpdate, bank);
-        bankRepository.save(bankToUpdate);
-        return true;
+    private int resolvePageSize(final Integer pageSize) {
+        if (pageSize == null) {
+            return defaultPageSize;
+        }
+
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be greater than or equal to 1.");
+        }
+        return Math.min(pageSize, maxPageSize);
     }
 
-    // region Helpers
     private Bank findBankByIdOrThrowException(final Long id) {
-        var bankEntity = bankRepository.findBankByBankId(id);
+        // @note: The batcher queries on its own thread, which is never bound to the primary.
+        var bankEntity = idBatcher == null || PrimaryReads.isRequired()
+                ? bankRepository.findBankByBankId(id)
+                : idBatcher.load(id);
 
         if (bankEntity == null) {
             throw new EntityNotFoundException(String.format(BANK_WITH_ID_NOT_FOUND, id));
@@ -106,10 +371,117 @@ public class BankService {
         return bankEntity;
     }
 
+    private void patchBankByIdOrThrowException(final Bank patch, final Long id, final Long expectedVersion) {
+        validatePatch(validator, patch);
+        var modifiedAt = Instant.now();
+
+        if (bankRepository.patchBankByBankId(id, patch, modifiedAt, expectedVersion) == 0) {
+            throwNotFoundOrConflict(id, expectedVersion);
+        }
+
+        bankCache.evictById(id);
+        bankCache.evictName(patch.getBankName());
+        forgetInFlightLookups(List.of(id));
+        // @note: The new version is only known when the write was guarded by one.
+        eventPublisher.publishEvent(BankChange.updated(
+                id, patch, modifiedAt, expectedVersion == null ? null : expectedVersion + 1));
+    }
+
+    private void deleteBankByIdOrThrowException(final Long id, final Long expectedVersion) {
+        if (bankRepository.deleteBankByBankId(id, expectedVersion) == 0) {
+            throwNotFoundOrConflict(id, expectedVersion);
+        }
+
+        bankCache.evictById(id);
+        forgetInFlightLookups(List.of(id));
+        eventPublisher.publishEvent(BankChange.deleted(id));
+    }
+
+    private void throwNotFoundOrConflict(final Long id, final Long expectedVersion) {
+        if (expectedVersion == null || !bankRepository.existsById(id)) {
+            throw new EntityNotFoundException(String.format(BANK_WITH_ID_NOT_FOUND, id));
+        }
+        throw new OptimisticLockingFailureException(String.format(BANK_VERSION_CONFLICT, id, expectedVersion));
+    }
+
+    private Long expectedVersion(final String ifMatch, final Long id) {
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+
+        var version = ETagGenerator.versionOf(ifMatch, id);
+        if (version == null) {
+            throw new OptimisticLockingFailureException(String.format(BANK_PRECONDITION_NOT_MATCHED, id));
+        }
+        return version;
+    }
+
+    // @note: The name is resolved to an id and version first, and the write is guarded by that version so a
+    //        concurrent rename or edit between the two is never overwritten. Without If-Match the patch only
+    //        sets fields, so re-reading and re-applying it is safe and it is retried a bounded number of times.
+    private void writeBankByNameWithRetry(
+            final String bankName,
+            final String ifMatch,
+            final BiConsumer<Long, Long> write
+    ) {
+        for (int attempt = 1; ; attempt++) {
+            var bank = findBankByBankNameOrThrowException(bankName);
+            var expectedVersion = expectedVersion(ifMatch, bank.getBankId());
+
+            // @note: Detach so the next attempt reads the row again instead of the persistence context copy.
+            entityManager.detach(bank);
+
+            try {
+                write.accept(bank.getBankId(), expectedVersion == null ? bank.getVersion() : expectedVersion);
+                bankCache.evictName(bankName);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null) {
+                    writeConflicts.increment();
+                    throw e;
+                }
+
+                if (attempt >= maxWriteAttempts) {
+                    writeConflicts.increment();
+                    throw new OptimisticLockingFailureException(
+                            String.format(BANK_WRITE_CONTENDED, bank.getBankId(), attempt), e);
+                }
+                writeRetries.increment();
+            }
+        }
+    }
+
+    static void validatePatch(final Validator validator, final Bank patch) {
+        // @note: A bulk UPDATE skips Hibernate's pre-update validation, so check the fields being written here.
+        var violations = new HashSet<ConstraintViolation<Bank>>();
+
+        validateIfPresent(validator, violations, "bankName", patch.getBankName());
+        validateIfPresent(validator, violations, "bankYear", patch.getBankYear());
+        validateIfPresent(validator, violations, "bankAddress", patch.getBankAddress());
+        validateIfPresent(validator, violations, "bankAtms", patch.getBankAtms());
+        validateIfPresent(validator, violations, "bankBranches", patch.getBankBranches());
+        validateIfPresent(validator, violations, "bankEmployees", patch.getBankEmployees());
+
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    private static void validateIfPresent(
+            final Validator validator,
+            final Set<ConstraintViolation<Bank>> violations,
+            final String property,
+            final Object value
+    ) {
+        if (value != null) {
+            violations.addAll(validator.validateValue(Bank.class, property, value));
+        }
+    }
+
     private Bank findBankByBankNameOrThrowException(final String bankName) {
         var bankEntity = bankRepository.findBanksByBankName(bankName);
 
-        if (bankEntity == null) {
+        if (bankEntity == null || bankEntity.isEmpty()) {
             throw new EntityNotFoundException(String.format(BANK_WITH_NAME_NOT_FOUND, bankName));
         }
         return bankEntity.get(0);
@@ -142,7 +514,7 @@ public class BankService {
         throw new IllegalArgumentException("Type provided is not supported.");
     }
 
-    private void updateBankAttributes(
+    static void updateBankAttributes(
             final Bank target,
             final Bank source
     ) {
@@ -0,0 +1,184 @@
+package c303.c303_final.service;
+
+import c303.c303_final.idempotency.IdempotencyStore;
+import c303.c303_final.idempotency.IdempotentResponse;
+import c303.c303_final.util.ApiResponse;
+import c303.c303_final.util.ApiResponseHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+@Service
+@Profile("!reactive")
+public class IdempotencyService {
+    //region DEFAULT(S)
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String KEY_TOO_LONG = "Idempotency-Key must be at most %s characters long.";
+    private static final String KEY_REUSED = "Idempotency-Key %s was already used for a different request.";
+    private static final String KEY_IN_FLIGHT = "Idempotency-Key %s is still being processed by another request, retry later.";
+    //endregion
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter coalesced;
+    private final Counter mismatched;
+    private final Counter inProgress;
+
+    @Autowired
+    public IdempotencyService(IdempotencyStore idempotencyStore, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.executed = meterRegistry.counter("bank.idempotency.requests", "outcome", "executed");
+        this.replayed = meterRegistry.counter("bank.idempotency.requests", "outcome", "replayed");
+        this.coalesced = meterRegistry.counter("bank.idempotency.requests", "outcome", "coalesced");
+        this.mismatched = meterRegistry.counter("bank.idempotency.requests", "outcome", "mismatched");
+        this.inProgress = meterRegistry.counter("bank.idempotency.requests", "outcome", "in_progress");
+    }
+
+    // @note: The first request with a key runs the write, concurrent duplicates wait on that same execution and
+    //        later retries are answered from the store, none of them reach the repository a second time. The key is
+    //        reserved in the store before the write runs, a duplicate on another instance gets 409 until it completes.
+    //        A write that throws releases its key, the exception reaches every waiter and the client may retry.
+    public <T> ResponseEntity<ApiResponse<T>> execute(
+            final String key,
+            final Supplier<ResponseEntity<ApiResponse<T>>> write,
+            final Object... request // @note: Everything that identifies the write (e.g., operation, id, body).
+    ) {
+        if (key == null || key.isBlank()) {
+            return write.get();
+        }
+
+        if (key.length() > MAX_KEY_LENGTH) {
+            return ApiResponseHandler.error(KEY_TOO_LONG, HttpStatus.BAD_REQUEST, MAX_KEY_LENGTH);
+        }
+
+        var fingerprint = fingerprint(request);
+        var stored = idempotencyStore.find(key);
+
+        if (stored != null && !stored.isInFlight()) {
+            replayed.increment();
+            return replay(key, stored, fingerprint);
+        }
+
+        var execution = new CompletableFuture<IdempotentResponse>();
+        var running = inFlight.putIfAbsent(key, execution);
+
+        if (running != null) {
+            coalesced.increment();
+            return replay(key, await(running), fingerprint);
+        }
+
+        var reserved = false;
+
+        try {
+            // @note: Another instance may be running the key, or its previous owner finished it since the lookup above.
+            if (!idempotencyStore.reserve(key, fingerprint)) {
+                stored = idempotencyStore.find(key);
+                stored = stored == null ? IdempotentResponse.inFlight(fingerprint) : stored;
+                execution.complete(stored);
+                (stored.isInFlight() ? inProgress : replayed).increment();
+                return replay(key, stored, fingerprint);
+            }
+            reserved = true;
+
+            var response = write.get();
+            // @note: Once the write went through, a response that fails to store keeps the key reserved until it
+            //        times out, a retry is refused rather than running the write twice.
+            reserved = false;
+            var completed = new IdempotentResponse(fingerprint, response.getStatusCode().value(), serialize(response.getBody()));
+
+            idempotencyStore.save(key, completed);
+            execution.complete(completed);
+            executed.increment();
+            return response;
+        } catch (Throwable e) {
+            if (reserved) {
+                idempotencyStore.release(key);
+            }
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    // region Helpers
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<ApiResponse<T>> replay(final String key, final IdempotentResponse stored, final String fingerprint) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            mismatched.increment();
+            return ApiResponseHandler.error(KEY_REUSED, HttpStatus.UNPROCESSABLE_ENTITY, key);
+        }
+
+        if (stored.isInFlight()) {
+            return ApiResponseHandler.error(KEY_IN_FLIGHT, HttpStatus.CONFLICT, key);
+        }
+
+        try {
+            var body = (ApiResponse<T>) objectMapper.readValue(stored.body(), ApiResponse.class);
+
+            return ResponseEntity.status(stored.status())
+                    .header(IDEMPOTENT_REPLAYED, "true")
+                    .body(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static IdempotentResponse await(final CompletableFuture<IdempotentResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private String fingerprint(final Object[] request) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] serialize(final Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    // endregion
+}
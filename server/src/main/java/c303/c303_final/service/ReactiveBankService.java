@@ -0,0 +1,115 @@
+package c303.c303_final.service;
+
+import c303.c303_final.model.Bank;
+import c303.c303_final.repository.ReactiveBankRepository;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Service
+@Profile("reactive")
+public class ReactiveBankService {
+    //region DEFAULT(S)
+    private static final String BANK_WITH_ID_NOT_FOUND = "Bank with the provided id %s is not found.";
+    private static final String BANK_WITH_NAME_NOT_FOUND = "Bank with the provided name %s is not found.";
+    //endregion
+
+    private final ReactiveBankRepository bankRepository;
+    private final Validator validator;
+
+    @Autowired
+    public ReactiveBankService(ReactiveBankRepository bankRepository, Validator validator) {
+        this.bankRepository = bankRepository;
+        this.validator = validator;
+    }
+
+    public Flux<Bank> findAllBanks() {
+        return bankRepository.findAll();
+    }
+
+    public Mono<Bank> findBankById(final Long id) {
+        return findBankByIdOrError(id);
+    }
+
+    public Mono<Bank> findBankByBankName(final String bankName) {
+        return findBankByBankNameOrError(bankName);
+    }
+
+    public Mono<Bank> createBank(final Bank bank) {
+        return Mono.defer(() -> {
+            var bankEntity = Bank.builder()
+                    .bankName(bank.getBankName())
+                    .bankYear(bank.getBankYear())
+                    .bankAddress(bank.getBankAddress())
+                    .bankAtms(bank.getBankAtms())
+                    .bankBranches(bank.getBankBranches())
+                    .bankEmployees(bank.getBankEmployees())
+                    .CreatedAt(Instant.now())
+                    .ModifiedAt(Instant.now())
+                    .build();
+
+            var violations = validator.validate(bankEntity);
+            if (!violations.isEmpty()) {
+                return Mono.error(new ConstraintViolationException(violations));
+            }
+            return bankRepository.insert(bankEntity);
+        });
+    }
+
+    public Mono<Boolean> updateBankByBankId(final Bank bank, final Long id) {
+        return patchBankByIdOrError(bank, id);
+    }
+
+    public Mono<Boolean> updateBankByBankName(final Bank bank, final String bankName) {
+        return findBankByBankNameOrError(bankName)
+                .flatMap(bankToUpdate -> patchBankByIdOrError(bank, bankToUpdate.getBankId()));
+    }
+
+    public Mono<Boolean> patchBankByBankId(final Bank bank, final Long id) {
+        return patchBankByIdOrError(bank, id);
+    }
+
+    public Mono<Boolean> patchBankByBankName(final Bank bank, final String bankName) {
+        return findBankByBankNameOrError(bankName)
+                .flatMap(bankToUpdate -> patchBankByIdOrError(bank, bankToUpdate.getBankId()));
+    }
+
+    public Mono<Boolean> deleteBankByBankId(final Long id) {
+        return bankRepository.deleteBankByBankId(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new EntityNotFoundException(String.format(BANK_WITH_ID_NOT_FOUND, id)))
+                        : Mono.just(true));
+    }
+
+    public Mono<Boolean> deleteBankByBankName(final String bankName) {
+        return findBankByBankNameOrError(bankName)
+                .flatMap(bankToDelete -> deleteBankByBankId(bankToDelete.getBankId()));
+    }
+
+    // region Helpers
+    private Mono<Bank> findBankByIdOrError(final Long id) {
+        return bankRepository.findBankByBankId(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException(String.format(BANK_WITH_ID_NOT_FOUND, id))));
+    }
+
+    private Mono<Bank> findBankByBankNameOrError(final String bankName) {
+        return bankRepository.findFirstBankByBankName(bankName)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException(String.format(BANK_WITH_NAME_NOT_FOUND, bankName))));
+    }
+
+    private Mono<Boolean> patchBankByIdOrError(final Bank patch, final Long id) {
+        return Mono.fromRunnable(() -> BankService.validatePatch(validator, patch))
+                .then(bankRepository.patchBankByBankId(id, patch, Instant.now()))
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(new EntityNotFoundException(String.format(BANK_WITH_ID_NOT_FOUND, id)))
+                        : Mono.just(true));
+    }
+    // endregion
+}
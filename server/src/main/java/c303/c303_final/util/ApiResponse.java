@@ -1,5 +1,6 @@
 package c303.c303_final.util;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,6 +13,7 @@ import java.time.Instant;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@JsonSerialize(using = ApiResponseSerializer.class)
 public class ApiResponse<T> {
     String message;
     private HttpStatus status;
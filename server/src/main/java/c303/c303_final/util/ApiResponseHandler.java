@@ -21,14 +21,9 @@ public class ApiResponseHandler {
             final T payload,
             final Object... args // @note: Optional args to pass to the message (e.g., id).
     ) {
-        return ResponseEntity
-                .status(status == null ? HttpStatus.OK : status)
-                .body(ApiResponse.<T>builder()
-                        .message(String.format(message, args))
-                        .status(status == null ? HttpStatus.OK : status)
-                        .payload(payload)
-                        .timestamp(Instant.now())
-                        .build());
+        var resolvedStatus = status == null ? HttpStatus.OK : status;
+
+        return respond(resolvedStatus, MessageTemplate.format(message, args), payload, null);
     }
 
     public static <T> ResponseEntity<ApiResponse <T>> error(
@@ -36,14 +31,9 @@ public class ApiResponseHandler {
             final HttpStatus status,
             final Object... args // @note: Optional args to pass to the message (e.g., id).
     ) {
-        return ResponseEntity
-                .status(status == null ? HttpStatus.INTERNAL_SERVER_ERROR : status)
-                .body(ApiResponse.<T>builder()
-                        .status(status == null ? HttpStatus.INTERNAL_SERVER_ERROR : status)
-                        .errorTrace(String.format(message, args))
-                        .timestamp(Instant.now())
-                        .build());
+        var resolvedStatus = status == null ? HttpStatus.INTERNAL_SERVER_ERROR : status;
 
+        return respond(resolvedStatus, null, null, MessageTemplate.format(message, args));
     }
 
     public static <T> ResponseEntity<ApiResponse <T>> payloadError(
@@ -52,14 +42,9 @@ public class ApiResponseHandler {
             final T payload,
             final Object... args // @note: Optional args to pass to the message (e.g., id).
     ) {
-        return ResponseEntity
-                .status(status == null ? HttpStatus.INTERNAL_SERVER_ERROR : status)
-                .body(ApiResponse.<T>builder()
-                        .status(status == null ? HttpStatus.INTERNAL_SERVER_ERROR : status)
-                        .errorTrace(String.format(message, args))
-                        .payload(payload)
-                        .timestamp(Instant.now())
-                        .build());
+        var resolvedStatus = status == null ? HttpStatus.INTERNAL_SERVER_ERROR : status;
+
+        return respond(resolvedStatus, null, payload, MessageTemplate.format(message, args));
     }
 
     public static <T> ResponseEntity<ApiResponse <T>> created(
@@ -85,24 +70,19 @@ public class ApiResponseHandler {
             return error(message, status, args);
         }
 
-        if (args.length == 0) {
-            return ResponseEntity
-                    .status(status)
-                    .body(ApiResponse.<List<T>>builder()
-                            .message(message)
-                            .status(status)
-                            .payload(payload)
-                            .timestamp(Instant.now())
-                            .build());
-        }
+        return respond(status, args.length == 0 ? message : MessageTemplate.format(message, args), payload, null);
+    }
 
-        return ResponseEntity
-                .status(status)
-                .body(ApiResponse.<List<T>>builder()
-                        .message(String.format(message, args))
-                        .status(status)
-                        .payload(payload)
-                        .timestamp(Instant.now())
-                        .build());
+    // region Helpers
+    // @note: Goes through the constructors rather than the ResponseEntity and ApiResponse builders, this runs
+    //        once per request and the builders are pure allocation on top of the objects we actually return.
+    private static <T> ResponseEntity<ApiResponse <T>> respond(
+            final HttpStatus status,
+            final String message,
+            final T payload,
+            final String errorTrace
+    ) {
+        return new ResponseEntity<>(new ApiResponse<>(message, status, payload, errorTrace, Instant.now()), status);
     }
+    // endregion
 }
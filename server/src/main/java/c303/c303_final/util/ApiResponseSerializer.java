@@ -0,0 +1,63 @@
+package c303.c303_final.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes the {@link ApiResponse} envelope field by field instead of going through the reflective bean
+ * serializer. The field names are pre-encoded once and the status is written as its enum name, only the
+ * payload and the timestamp are handed back to the provider so they keep honouring the mapper configuration.
+ * Field order and null handling match what the bean serializer produced before.
+ */
+public class ApiResponseSerializer extends StdSerializer<ApiResponse<?>> {
+    //region DEFAULT(S)
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString PAYLOAD = new SerializedString("payload");
+    private static final SerializableString ERROR_TRACE = new SerializedString("errorTrace");
+    private static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    //endregion
+
+    @SuppressWarnings("unchecked")
+    public ApiResponseSerializer() {
+        super((Class<ApiResponse<?>>) (Class<?>) ApiResponse.class);
+    }
+
+    @Override
+    public void serialize(final ApiResponse<?> response, final JsonGenerator generator, final SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject(response);
+
+        generator.writeFieldName(MESSAGE);
+        writeNullableString(generator, response.getMessage());
+
+        generator.writeFieldName(STATUS);
+        writeNullableString(generator, response.getStatus() == null ? null : response.getStatus().name());
+
+        generator.writeFieldName(PAYLOAD);
+        provider.defaultSerializeValue(response.getPayload(), generator);
+
+        generator.writeFieldName(ERROR_TRACE);
+        writeNullableString(generator, response.getErrorTrace());
+
+        generator.writeFieldName(TIMESTAMP);
+        provider.defaultSerializeValue(response.getTimestamp(), generator);
+
+        generator.writeEndObject();
+    }
+
+    // region Helpers
+    private static void writeNullableString(final JsonGenerator generator, final String value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeString(value);
+    }
+    // endregion
+}
@@ -0,0 +1,41 @@
+package c303.c303_final.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class CursorToken {
+    private static final String CURSOR_PREFIX = "bank:";
+
+    private CursorToken() {
+        // Private constructor to prevent class instantiation.
+    }
+
+    public static String encode(final Long lastBankId) {
+        if (lastBankId == null) {
+            return null;
+        }
+
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastBankId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(final String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Cursor provided is not a valid bank cursor.");
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+
+        } catch (IllegalArgumentException e) {
+            // @note: NumberFormatException is also an IllegalArgumentException.
+            throw new IllegalArgumentException("Cursor provided is not a valid bank cursor.", e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package c303.c303_final.util;
+
+import c303.c303_final.dtos.BankVersionDto;
+import c303.c303_final.model.Bank;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+public class ETagGenerator {
+    //region DEFAULT(S)
+    // @note: Strong tags only, If-Match uses strong comparison so a weak W/ tag never matches. The representation
+    //        suffix is optional, any encoding's tag identifies the same version of the bank for a write.
+    private static final Pattern BANK_TAG = Pattern.compile("^\"bank-(\\d{1,18})-(\\d{1,18})(?:-[0-9a-f]{1,8})?\"$");
+    //endregion
+
+    private ETagGenerator() {
+        // Private constructor to prevent class instantiation.
+    }
+
+    public static String forBank(final Bank bank) {
+        return String.format("\"bank-%s-%s\"", bank.getBankId(), bank.getVersion());
+    }
+
+    // @note: A strong tag promises byte-identical bodies, so the JSON, CBOR, Smile and protobuf representations
+    //        of the same version each get their own, told apart by the Accept header they were negotiated from.
+    public static String forBank(final Bank bank, final String accept) {
+        return String.format("\"bank-%s-%s-%s\"", bank.getBankId(), bank.getVersion(),
+                Integer.toHexString(Objects.hashCode(accept)));
+    }
+
+    // @note: Returns the version an If-Match header expects for the bank, or null when no tag in it belongs to the bank.
+    public static Long versionOf(final String ifMatch, final Long bankId) {
+        for (String tag : ifMatch.split(",")) {
+            var matcher = BANK_TAG.matcher(tag.trim());
+
+            if (matcher.matches() && matcher.group(1).equals(String.valueOf(bankId))) {
+                return Long.valueOf(matcher.group(2));
+            }
+        }
+        return null;
+    }
+
+    // @note: Variant covers anything besides the table version that changes the body (fields, cursor, page size).
+    //        Collection tags are weak, they are only compared through If-None-Match and Tomcat will not compress
+    //        a response that carries a strong one.
+    public static String forCollection(final BankVersionDto version, final Object... variant) {
+        return String.format("W/\"banks-%s-%s-%s\"",
+                version.getCount(),
+                epochMicros(version.getMaxModifiedAt()),
+                Integer.toHexString(Objects.hash(variant)));
+    }
+
+    public static long lastModified(final Instant instant) {
+        // @note: -1 tells Spring there is no Last-Modified value to compare against.
+        return instant == null ? -1 : instant.toEpochMilli();
+    }
+
+    // region Helpers
+    private static long epochMicros(final Instant instant) {
+        return instant == null ? 0 : instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+    // endregion
+}
@@ -0,0 +1,119 @@
+package c303.c303_final.util;
+
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Precompiled form of the {@code %s} message formats passed to {@link ApiResponseHandler}. A format is split
+ * into its literal segments once and cached, so rendering is a single {@link StringBuilder} pass instead of a
+ * {@link java.util.Formatter} parse per response. Only formats given arguments are cached, those are the
+ * constants in the code. A message passed without any is usually built at runtime, it is returned as it is when
+ * it has no conversions and compiled for that call alone otherwise. Formats using anything other than
+ * {@code %s}, {@code %%} and {@code %n} fall back to {@link String#format}, so the output always matches it.
+ */
+public final class MessageTemplate {
+    //region DEFAULT(S)
+    // @note: A backstop, the constant formats number far fewer than this.
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+    private static final int ESTIMATED_ARG_LENGTH = 16;
+    private static final ConcurrentMap<String, MessageTemplate> TEMPLATES = new ConcurrentHashMap<>();
+    //endregion
+
+    private final String format;
+    private final String[] literals;
+    private final String constant;
+    private final int literalLength;
+    private final boolean fallback;
+
+    private MessageTemplate(final String format, final String[] literals, final boolean fallback) {
+        this.format = format;
+        this.literals = literals;
+        this.constant = literals.length == 1 ? literals[0] : null;
+        this.fallback = fallback;
+
+        var length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static String format(final String format, final Object... args) {
+        // @note: Messages such as String.format results carry ids, versions and user input, caching them would
+        //        fill the map with one-off strings and leave no room for the constant formats.
+        if (args == null || args.length == 0) {
+            return format.indexOf('%') < 0 ? format : compile(format).render(args);
+        }
+
+        var template = TEMPLATES.get(format);
+
+        if (template == null) {
+            template = compile(format);
+            if (TEMPLATES.size() < MAX_CACHED_TEMPLATES) {
+                TEMPLATES.putIfAbsent(format, template);
+            }
+        }
+        return template.render(args);
+    }
+
+    public String render(final Object... args) {
+        if (constant != null && !fallback) {
+            return constant;
+        }
+
+        var placeholders = literals.length - 1;
+        if (fallback || args == null || args.length < placeholders || hasFormattable(args, placeholders)) {
+            return String.format(format, args);
+        }
+
+        var message = new StringBuilder(literalLength + placeholders * ESTIMATED_ARG_LENGTH);
+        for (int i = 0; i < placeholders; i++) {
+            message.append(literals[i]).append(args[i]);
+        }
+        return message.append(literals[placeholders]).toString();
+    }
+
+    // region Helpers
+    private static MessageTemplate compile(final String format) {
+        var literals = new ArrayList<String>();
+        var literal = new StringBuilder(format.length());
+
+        for (int i = 0; i < format.length(); i++) {
+            var c = format.charAt(i);
+
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+
+            var conversion = i + 1 < format.length() ? format.charAt(++i) : '\0';
+            switch (conversion) {
+                case 's' -> {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                }
+                case '%' -> literal.append('%');
+                case 'n' -> literal.append(System.lineSeparator());
+                default -> {
+                    // @note: Width, precision, indexes and other conversions are left to java.util.Formatter.
+                    return new MessageTemplate(format, new String[] { format }, true);
+                }
+            }
+        }
+
+        literals.add(literal.toString());
+        return new MessageTemplate(format, literals.toArray(String[]::new), false);
+    }
+
+    private static boolean hasFormattable(final Object[] args, final int count) {
+        for (int i = 0; i < count; i++) {
+            if (args[i] instanceof Formattable) {
+                return true;
+            }
+        }
+        return false;
+    }
+    // endregion
+}
@@ -0,0 +1,123 @@
+package c303.c303_final.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Gathers the distinct keys requested within a short window and loads them with one batch call, e.g. a single
+ * {@code WHERE bank_id IN (...)} instead of one query per id. A batch is flushed when the window closes or as
+ * soon as it reaches the maximum size. Keys the batch loader does not return resolve to {@code null}.
+ */
+public class MicroBatcher<K, V> implements AutoCloseable {
+    private final Function<Set<K>, Map<K, V>> batchLoader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final DistributionSummary batchSizes;
+    private Map<K, CompletableFuture<V>> pending = new HashMap<>();
+
+    public MicroBatcher(
+            final String lookup,
+            final Duration window,
+            final int maxBatchSize,
+            final Function<Set<K>, Map<K, V>> batchLoader,
+            final MeterRegistry meterRegistry
+    ) {
+        this.batchLoader = batchLoader;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("bank-" + lookup + "-batcher-"));
+        this.batchSizes = DistributionSummary.builder("bank.reads.batch.size")
+                .tag("lookup", lookup)
+                .register(meterRegistry);
+    }
+
+    public V load(final K key) {
+        CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> full = null;
+
+        synchronized (this) {
+            future = pending.get(key);
+
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(key, future);
+
+                if (pending.size() == 1) {
+                    var batch = pending;
+                    scheduler.schedule(() -> flush(batch), windowNanos, TimeUnit.NANOSECONDS);
+                }
+
+                if (pending.size() >= maxBatchSize) {
+                    full = pending;
+                    pending = new HashMap<>();
+                }
+            }
+        }
+
+        // @note: A full batch is loaded on the caller's thread, the scheduled flush later finds it already taken.
+        if (full != null) {
+            run(full);
+        }
+        return await(future);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    // region Helpers
+    // @note: Batches are told apart by identity, once a batch has been taken pending is a new map and a late
+    //        scheduled flush for the old one does nothing.
+    private void flush(final Map<K, CompletableFuture<V>> batch) {
+        synchronized (this) {
+            if (batch != pending) {
+                return;
+            }
+            pending = new HashMap<>();
+        }
+
+        run(batch);
+    }
+
+    private void run(final Map<K, CompletableFuture<V>> batch) {
+        batchSizes.record(batch.size());
+
+        try {
+            var values = batchLoader.apply(batch.keySet());
+            batch.forEach((key, future) -> future.complete(values.get(key)));
+        } catch (Throwable e) {
+            // @note: Errors too, a batch left incomplete would block every caller waiting on it for good.
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            throw e;
+        }
+    }
+
+    private static <V> V await(final CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,76 @@
+package c303.c303_final.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Collapses concurrent loads of the same key into one: the first caller runs the loader, callers arriving
+ * while it is in flight wait for its result (or its exception) instead of issuing their own query. Nothing
+ * is kept once the load completes, caching stays with the caller. The wait is on a future rather than a
+ * map bin lock, so a virtual thread is never pinned to its carrier for the duration of the load.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(final String lookup, final MeterRegistry meterRegistry) {
+        this.executed = meterRegistry.counter("bank.reads.coalescing", "lookup", lookup, "outcome", "executed");
+        this.coalesced = meterRegistry.counter("bank.reads.coalescing", "lookup", lookup, "outcome", "coalesced");
+    }
+
+    public V execute(final K key, final Function<K, V> loader) {
+        var flight = new CompletableFuture<V>();
+        var running = inFlight.putIfAbsent(key, flight);
+
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        executed.increment();
+        try {
+            var value = loader.apply(key);
+            flight.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // @note: Errors too, a flight left incomplete would block every caller waiting on it for good.
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    // @note: Callers arriving after this start their own load instead of joining one that may have read the row
+    //        before a write committed. The load already in flight still completes for the callers it has.
+    public void forget(final K key) {
+        inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    // region Helpers
+    private static <V> V await(final CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+    // endregion
+}
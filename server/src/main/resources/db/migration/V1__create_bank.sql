@@ -0,0 +1,20 @@
+CREATE TABLE bank (
+    bank_id BIGINT NOT NULL AUTO_INCREMENT,
+    bank_name VARCHAR(255) NOT NULL,
+    bank_year DATETIME(6) NOT NULL,
+    bank_address VARCHAR(255) NOT NULL,
+    bank_atms INTEGER NOT NULL,
+    bank_branches INTEGER NOT NULL,
+    bank_employees INTEGER NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NULL,
+    modified_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NULL,
+    PRIMARY KEY (bank_id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_bank_name ON bank (bank_name);
+CREATE INDEX idx_bank_year ON bank (bank_year);
+CREATE INDEX idx_bank_atms ON bank (bank_atms);
+CREATE INDEX idx_bank_branches ON bank (bank_branches);
+CREATE INDEX idx_bank_employees ON bank (bank_employees);
+CREATE INDEX idx_bank_modified_at ON bank (modified_at);
@@ -0,0 +1,10 @@
+CREATE TABLE idempotency_record (
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint VARCHAR(64) NOT NULL,
+    status INTEGER NOT NULL,
+    response_body MEDIUMBLOB NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (idempotency_key)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_idempotency_expires_at ON idempotency_record (expires_at);
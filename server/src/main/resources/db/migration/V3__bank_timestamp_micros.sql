@@ -0,0 +1,4 @@
+-- Second-precision timestamps let two writes in the same second share MAX(modified_at), so the collection
+-- version behind the list ETags and the stats memo would not change between them.
+ALTER TABLE bank MODIFY created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) NULL;
+ALTER TABLE bank MODIFY modified_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) NULL;
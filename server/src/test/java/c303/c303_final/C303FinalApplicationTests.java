@@ -2,8 +2,10 @@ package c303.c303_final;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles("test")
 class C303FinalApplicationTests {
 
     @Test
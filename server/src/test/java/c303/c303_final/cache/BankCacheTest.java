@@ -0,0 +1,195 @@
+package c303.c303_final.cache;
+
+import c303.c303_final.model.Bank;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BankCacheTest {
+    //region DEFAULT(S)
+    private static final long TIMEOUT_SECONDS = 5;
+    //endregion
+
+    private final BankCache bankCache = new BankCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+
+    @Test
+    void loadedBankIsServedFromTheCache() {
+        var loads = new AtomicInteger();
+
+        bankCache.getById(1L, id -> load(loads, bank(id, "First Bank")));
+        var cached = bankCache.getById(1L, id -> load(loads, bank(id, "Unexpected")));
+
+        assertThat(cached.getBankName()).isEqualTo("First Bank");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void evictionDuringABlockedLoadKeepsTheStaleRowOutOfTheCache() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var stale = call(() -> bankCache.getById(1L, id -> {
+            started.countDown();
+            await(release);
+            return bank(id, "Stale Bank");
+        }));
+        await(started);
+
+        bankCache.evictById(1L);
+        release.countDown();
+
+        assertThat(get(stale).getBankName()).isEqualTo("Stale Bank");
+        assertThat(bankCache.getById(1L, id -> bank(id, "Fresh Bank")).getBankName()).isEqualTo("Fresh Bank");
+    }
+
+    @Test
+    void evictionByIdDuringABlockedNameLoadKeepsTheStaleRowOutOfTheCache() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var stale = call(() -> bankCache.getByName("First Bank", name -> {
+            started.countDown();
+            await(release);
+            return bank(1L, name, 1);
+        }));
+        await(started);
+
+        // @note: The name load has not returned yet, so only the names being loaded tie it to this id.
+        bankCache.evictById(1L);
+        release.countDown();
+
+        assertThat(get(stale).getBankAtms()).isEqualTo(1);
+        assertThat(bankCache.getByName("First Bank", name -> bank(1L, name, 2)).getBankAtms()).isEqualTo(2);
+    }
+
+    @Test
+    void evictionByIdInvalidatesTheNameTheBankIsCachedUnder() {
+        bankCache.getByName("First Bank", name -> bank(1L, name, 1));
+
+        bankCache.evictById(1L);
+
+        assertThat(bankCache.getByName("First Bank", name -> bank(1L, name, 2)).getBankAtms()).isEqualTo(2);
+    }
+
+    @Test
+    void evictingAnOldNameKeepsTheCurrentNameTracked() {
+        bankCache.getByName("Old Name", name -> bank(1L, name, 1));
+        bankCache.getByName("New Name", name -> bank(1L, name, 1));
+
+        // @note: The bank is tracked under its latest name, dropping the old one must not forget that.
+        bankCache.evictName("Old Name");
+        bankCache.evictById(1L);
+
+        assertThat(bankCache.getByName("New Name", name -> bank(1L, name, 2)).getBankAtms()).isEqualTo(2);
+    }
+
+    @Test
+    void evictingANameForgetsItForLaterEvictionsById() {
+        bankCache.getByName("Old Name", name -> bank(1L, name, 1));
+        bankCache.evictName("Old Name");
+        bankCache.getByName("Old Name", name -> bank(2L, name, 1));
+
+        // @note: Bank 1 no longer owns the name, evicting it leaves the entry cached for bank 2 alone.
+        bankCache.evictById(1L);
+
+        assertThat(bankCache.getByName("Old Name", name -> bank(2L, name, 2)).getBankAtms()).isEqualTo(1);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        var loads = new AtomicInteger();
+
+        assertThatThrownBy(() -> bankCache.getById(1L, id -> {
+            loads.incrementAndGet();
+            throw new IllegalArgumentException("not found");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(bankCache.getById(1L, id -> load(loads, bank(id, "First Bank"))).getBankName())
+                .isEqualTo("First Bank");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void callerWaitingOnAFailedLoadLoadsForItself() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var failing = call(() -> bankCache.getById(1L, id -> {
+            started.countDown();
+            await(release);
+            throw new IllegalArgumentException("not found");
+        }));
+        await(started);
+
+        var waiting = call(() -> bankCache.getById(1L, id -> bank(id, "First Bank")));
+        awaitParked(waiting);
+        release.countDown();
+
+        assertThatThrownBy(() -> get(failing)).hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(get(waiting).getBankName()).isEqualTo("First Bank");
+    }
+
+    // region Helpers
+    private record Caller<T>(Thread thread, FutureTask<T> task) {
+    }
+
+    private static Bank bank(final Long id, final String bankName) {
+        return bank(id, bankName, 1);
+    }
+
+    private static Bank bank(final Long id, final String bankName, final int bankAtms) {
+        return Bank.builder().bankId(id).bankName(bankName).bankAtms(bankAtms).build();
+    }
+
+    private static Bank load(final AtomicInteger loads, final Bank bank) {
+        loads.incrementAndGet();
+        return bank;
+    }
+
+    private static <T> Caller<T> call(final Callable<T> callable) {
+        var task = new FutureTask<>(callable);
+        var thread = new Thread(task);
+        thread.setDaemon(true);
+        thread.start();
+        return new Caller<>(thread, task);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertThat(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // @note: A caller parks only once it has found the future installed by the load in flight.
+    private static void awaitParked(final Caller<?> caller) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+
+        while (caller.thread().getState() != Thread.State.WAITING) {
+            assertThat(System.nanoTime()).as("waiting for %s to park", caller.thread().getName()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static <T> T get(final Caller<T> caller) throws ExecutionException, InterruptedException {
+        try {
+            return caller.task().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new AssertionError("load did not complete", e);
+        }
+    }
+    // endregion
+}
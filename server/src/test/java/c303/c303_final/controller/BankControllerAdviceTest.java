@@ -0,0 +1,42 @@
+package c303.c303_final.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BankControllerAdviceTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void rejectsUnknownFieldWithBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/bank/find/all").param("fields", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorTrace", containsString("bogus")));
+    }
+
+    // @note: The rejected value is echoed in the message, it must not be read as a format string.
+    @Test
+    void rejectsFieldContainingPercentWithBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/bank/find/all").param("fields", "a%d"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorTrace", containsString("a%d")));
+    }
+
+    @Test
+    void rejectsMalformedCursorWithBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/bank/find/page").param("cursor", "%s%n%"))
+                .andExpect(status().isBadRequest());
+    }
+}
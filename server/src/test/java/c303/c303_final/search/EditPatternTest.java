@@ -0,0 +1,55 @@
+package c303.c303_final.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EditPatternTest {
+
+    @Test
+    void exactSubstringIsZeroEdits() {
+        assertThat(new EditPattern("toronto").substringDistance("bank of toronto east")).isZero();
+    }
+
+    @Test
+    void countsSubstitutionInsertionAndDeletion() {
+        var pattern = new EditPattern("toronto");
+
+        assertThat(pattern.substringDistance("torinto")).isEqualTo(1);
+        assertThat(pattern.substringDistance("torontto")).isEqualTo(1);
+        assertThat(pattern.substringDistance("torono")).isEqualTo(1);
+        assertThat(pattern.substringDistance("trono")).isEqualTo(2);
+    }
+
+    @Test
+    void unrelatedTextCostsAtMostTheQueryLength() {
+        var pattern = new EditPattern("abc");
+
+        assertThat(pattern.substringDistance("xyz")).isEqualTo(3);
+        assertThat(pattern.substringDistance("")).isEqualTo(3);
+    }
+
+    @Test
+    void matchesNonAsciiCharacters() {
+        var pattern = new EditPattern("zürich");
+
+        assertThat(pattern.substringDistance("bank zürich")).isZero();
+        assertThat(pattern.substringDistance("bank zurich")).isEqualTo(1);
+    }
+
+    @Test
+    void acceptsQueriesUpToMaxLength() {
+        var query = "a".repeat(EditPattern.MAX_LENGTH - 1) + "b";
+        var pattern = new EditPattern(query);
+
+        assertThat(pattern.substringDistance("x" + query)).isZero();
+        assertThat(pattern.substringDistance("a".repeat(EditPattern.MAX_LENGTH))).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsQueriesOverMaxLength() {
+        assertThatThrownBy(() -> new EditPattern("a".repeat(EditPattern.MAX_LENGTH + 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package c303.c303_final.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongIntMapTest {
+
+    @Test
+    void getReturnsMissingForUnknownKey() {
+        var map = new LongIntMap(4);
+
+        assertThat(map.get(42L)).isEqualTo(LongIntMap.MISSING);
+    }
+
+    @Test
+    void putOverwritesValueOfExistingKey() {
+        var map = new LongIntMap(4);
+
+        map.put(7L, 1);
+        map.put(7L, 2);
+
+        assertThat(map.get(7L)).isEqualTo(2);
+    }
+
+    @Test
+    void removedKeyReadsAsMissing() {
+        var map = new LongIntMap(4);
+
+        map.put(7L, 1);
+        map.put(7L, LongIntMap.MISSING);
+
+        assertThat(map.get(7L)).isEqualTo(LongIntMap.MISSING);
+    }
+
+    @Test
+    void growsPastExpectedSize() {
+        var map = new LongIntMap(1);
+
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i * 31L, i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(map.get(i * 31L)).isEqualTo(i);
+        }
+        assertThat(map.get(1L)).isEqualTo(LongIntMap.MISSING);
+    }
+
+    @Test
+    void handlesZeroAndNegativeKeys() {
+        var map = new LongIntMap(4);
+
+        map.put(0L, 1);
+        map.put(-1L, 2);
+        map.put(Long.MAX_VALUE, 3);
+
+        assertThat(map.get(0L)).isEqualTo(1);
+        assertThat(map.get(-1L)).isEqualTo(2);
+        assertThat(map.get(Long.MAX_VALUE)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,71 @@
+package c303.c303_final.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+
+    @Test
+    void addKeepsPostingsAscendingAndSkipsRepeats() {
+        var list = new PostingList();
+
+        list.add(2);
+        list.add(2);
+        list.add(5);
+        list.add(3);
+        list.add(8);
+
+        assertThat(list.size()).isEqualTo(3);
+        assertThat(new int[] { list.get(0), list.get(1), list.get(2) }).containsExactly(2, 5, 8);
+    }
+
+    @Test
+    void advanceFindsFirstPostingAtOrAfterTarget() {
+        var list = listOf(0, 10_000, 2);
+
+        assertThat(list.advance(0, 0)).isZero();
+        assertThat(list.advance(0, 1)).isEqualTo(1);
+        assertThat(list.advance(0, 4)).isEqualTo(2);
+        assertThat(list.advance(0, 9_998)).isEqualTo(4_999);
+        assertThat(list.get(list.advance(100, 5_001))).isEqualTo(5_002);
+    }
+
+    @Test
+    void advanceNeverMovesBackwards() {
+        var list = listOf(0, 100, 1);
+
+        assertThat(list.advance(50, 10)).isEqualTo(50);
+    }
+
+    @Test
+    void advancePastLastPostingReturnsSize() {
+        var list = listOf(0, 100, 1);
+
+        assertThat(list.advance(0, 100)).isEqualTo(list.size());
+        assertThat(list.advance(list.size(), 0)).isEqualTo(list.size());
+    }
+
+    @Test
+    void trimKeepsPostings() {
+        var list = listOf(0, 37, 3);
+
+        list.trim();
+        list.add(1_000);
+
+        assertThat(list.size()).isEqualTo(14);
+        assertThat(list.get(12)).isEqualTo(36);
+        assertThat(list.get(13)).isEqualTo(1_000);
+    }
+
+    // region Helpers
+    private static PostingList listOf(final int from, final int to, final int step) {
+        var list = new PostingList();
+
+        for (int value = from; value < to; value += step) {
+            list.add(value);
+        }
+        return list;
+    }
+    // endregion
+}
@@ -0,0 +1,152 @@
+package c303.c303_final.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TrigramIndexTest {
+    //region DEFAULT(S)
+    private static final int LIMIT = 10;
+    private static final int MAX_CANDIDATES = 1_000;
+    //endregion
+
+    @Test
+    void ranksPrefixThenWordThenSubstring() {
+        var index = new TrigramIndex(0);
+        index.put(3, "Anorthosite Savings", "2 Main Street");
+        index.put(2, "Bank of the North", "1 Main Street");
+        index.put(1, "Northern Trust", "50 South La Salle Street");
+        index.put(4, "Alpha Bank", "North Road 5");
+
+        assertThat(search(index, "north", 0))
+                .extracting(TrigramIndex.Hit::bankId, TrigramIndex.Hit::field, TrigramIndex.Hit::match)
+                .containsExactly(
+                        tuple(1L, TrigramIndex.NAME, TrigramIndex.PREFIX),
+                        tuple(4L, TrigramIndex.ADDRESS, TrigramIndex.PREFIX),
+                        tuple(2L, TrigramIndex.NAME, TrigramIndex.WORD),
+                        tuple(3L, TrigramIndex.NAME, TrigramIndex.SUBSTRING));
+    }
+
+    @Test
+    void findsTyposOnlyWhenAllowed() {
+        var index = new TrigramIndex(0);
+        index.put(1, "Toronto Dominion", "66 Wellington Street West");
+
+        assertThat(search(index, "torinto", 0)).isEmpty();
+        assertThat(search(index, "torinto", 1))
+                .extracting(TrigramIndex.Hit::bankId, TrigramIndex.Hit::match, TrigramIndex.Hit::typos)
+                .containsExactly(tuple(1L, TrigramIndex.TYPO, 1));
+    }
+
+    @Test
+    void ranksFewerTyposFirst() {
+        var index = new TrigramIndex(0);
+        index.put(1, "Cemmonwalth Trust", "1 Harbour Street");
+        index.put(2, "Commonwealth Bank", "2 Harbour Street");
+
+        assertThat(search(index, "commonwelth", 2))
+                .extracting(TrigramIndex.Hit::bankId, TrigramIndex.Hit::typos)
+                .containsExactly(tuple(2L, 1), tuple(1L, 2));
+    }
+
+    @Test
+    void updateLeavesDeadSlotAndKeepsUnchangedField() {
+        var index = new TrigramIndex(0);
+        index.put(1, "Alpha Bank", "10 Downing Street");
+
+        index.update(1, "Beta Bank", null);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.deadSlots()).isEqualTo(1);
+        assertThat(search(index, "alpha", 0)).isEmpty();
+        assertThat(search(index, "beta", 0))
+                .extracting(TrigramIndex.Hit::name, TrigramIndex.Hit::address)
+                .containsExactly(tuple("Beta Bank", "10 Downing Street"));
+    }
+
+    @Test
+    void updateWithoutChangesOrUnknownBankDoesNothing() {
+        var index = new TrigramIndex(0);
+        index.put(1, "Alpha Bank", "10 Downing Street");
+
+        index.update(1, "Alpha Bank", "10 Downing Street");
+        index.update(2, "Beta Bank", "11 Downing Street");
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.deadSlots()).isZero();
+        assertThat(search(index, "beta", 0)).isEmpty();
+    }
+
+    @Test
+    void removeHidesBankAndCountsDeadSlot() {
+        var index = new TrigramIndex(0);
+        index.put(1, "Alpha Bank", "10 Downing Street");
+        index.put(2, "Alpha Trust", "11 Downing Street");
+
+        index.remove(1);
+        index.remove(3);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.deadSlots()).isEqualTo(1);
+        assertThat(search(index, "alpha", 0)).extracting(TrigramIndex.Hit::bankId).containsExactly(2L);
+    }
+
+    @Test
+    void putReplacesIndexedBank() {
+        var index = new TrigramIndex(0);
+        index.put(1, "Alpha Bank", "10 Downing Street");
+        index.put(1, "Gamma Bank", "10 Downing Street");
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(search(index, "bank", 0)).extracting(TrigramIndex.Hit::name).containsExactly("Gamma Bank");
+    }
+
+    @Test
+    void normalizeFoldsAccentsCaseAndPunctuation() {
+        assertThat(TrigramIndex.normalize("Crédit Agricole")).isEqualTo("credit agricole");
+        assertThat(TrigramIndex.normalize("  Société—Générale!! ")).isEqualTo("societe generale");
+        assertThat(TrigramIndex.normalize("ZÜRICH-Bank 24")).isEqualTo("zurich bank 24");
+        assertThat(TrigramIndex.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void findsAccentedTextWithPlainQuery() {
+        var index = new TrigramIndex(0);
+        index.put(1, "Crédit Agricole", "12 Place des États-Unis");
+        index.put(2, "Société Générale", "29 Boulevard Haussmann");
+
+        assertThat(search(index, "credit", 0)).extracting(TrigramIndex.Hit::bankId).containsExactly(1L);
+        assertThat(search(index, "etats unis", 0)).extracting(TrigramIndex.Hit::bankId).containsExactly(1L);
+        assertThat(search(index, "Société Géné", 0)).extracting(TrigramIndex.Hit::bankId).containsExactly(2L);
+    }
+
+    @Test
+    void skipsTyposForQueriesOverEditPatternLimit() {
+        var name = "abcdefghij".repeat(7);
+        var typo = "x" + name.substring(1);
+        var index = new TrigramIndex(0);
+        index.put(1, name, "1 Long Street Name");
+
+        assertThat(search(index, name, 2)).extracting(TrigramIndex.Hit::match).containsExactly(TrigramIndex.PREFIX);
+        assertThat(search(index, typo, 2)).isEmpty();
+    }
+
+    @Test
+    void stopsAtLimit() {
+        var index = new TrigramIndex(0);
+        for (int i = 0; i < 20; i++) {
+            index.put(i, "Bank " + i, i + " Main Street");
+        }
+
+        assertThat(index.search("bank", 5, 0, MAX_CANDIDATES, MAX_CANDIDATES)).hasSize(5);
+    }
+
+    // region Helpers
+    private static List<TrigramIndex.Hit> search(final TrigramIndex index, final String query, final int maxTypos) {
+        return index.search(query, LIMIT, maxTypos, MAX_CANDIDATES, MAX_CANDIDATES);
+    }
+    // endregion
+}
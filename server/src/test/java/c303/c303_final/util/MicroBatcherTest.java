@@ -0,0 +1,164 @@
+package c303.c303_final.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MicroBatcherTest {
+    //region DEFAULT(S)
+    private static final long TIMEOUT_SECONDS = 5;
+    private static final Duration NEVER = Duration.ofHours(1);
+    //endregion
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Set<Long>> batches = new CopyOnWriteArrayList<>();
+    private MicroBatcher<Long, String> batcher;
+
+    @AfterEach
+    void close() {
+        batcher.close();
+    }
+
+    @Test
+    void windowFlushesAPartialBatch() {
+        batcher = batcher(Duration.ofMillis(20), 10, this::names);
+
+        assertThat(batcher.load(1L)).isEqualTo("bank-1");
+        assertThat(batches).containsExactly(Set.of(1L));
+    }
+
+    @Test
+    void fullBatchFlushesWithoutWaitingForTheWindow() throws Exception {
+        batcher = batcher(NEVER, 2, this::names);
+
+        var first = load(1L);
+        awaitParked(first);
+
+        assertThat(batcher.load(2L)).isEqualTo("bank-2");
+        assertThat(get(first.task())).isEqualTo("bank-1");
+        assertThat(batches).containsExactly(Set.of(1L, 2L));
+    }
+
+    @Test
+    void sameKeyWithinABatchIsLoadedOnce() throws Exception {
+        batcher = batcher(NEVER, 2, this::names);
+
+        var first = load(1L);
+        awaitParked(first);
+        var second = load(1L);
+        awaitParked(second);
+
+        assertThat(batcher.load(2L)).isEqualTo("bank-2");
+        assertThat(get(first.task())).isEqualTo("bank-1");
+        assertThat(get(second.task())).isEqualTo("bank-1");
+        assertThat(batches).containsExactly(Set.of(1L, 2L));
+    }
+
+    @Test
+    void scheduledFlushOfATakenBatchDoesNothing() throws Exception {
+        batcher = batcher(Duration.ofMillis(20), 2, this::names);
+
+        var first = load(1L);
+        awaitParked(first);
+        assertThat(batcher.load(2L)).isEqualTo("bank-2");
+        assertThat(get(first.task())).isEqualTo("bank-1");
+
+        // @note: Outlives the window of the batch taken above, the next key still gets a batch of its own.
+        Thread.sleep(100);
+        assertThat(batcher.load(3L)).isEqualTo("bank-3");
+        assertThat(batches).containsExactly(Set.of(1L, 2L), Set.of(3L));
+    }
+
+    @Test
+    void keysMissingFromTheResultResolveToNull() {
+        batcher = batcher(Duration.ofMillis(20), 10, keys -> Map.of());
+
+        assertThat(batcher.load(1L)).isNull();
+    }
+
+    @Test
+    void loaderExceptionReachesEveryCallerInTheBatch() throws Exception {
+        var failure = new IllegalStateException("lookup failed");
+        batcher = batcher(NEVER, 2, keys -> {
+            throw failure;
+        });
+
+        var first = load(1L);
+        awaitParked(first);
+
+        assertThatThrownBy(() -> batcher.load(2L)).isSameAs(failure);
+        assertThatThrownBy(() -> get(first.task())).hasCause(failure);
+    }
+
+    @Test
+    void loaderExceptionOnTheWindowFlushReachesTheCaller() {
+        var failure = new IllegalStateException("lookup failed");
+        batcher = batcher(Duration.ofMillis(20), 10, keys -> {
+            throw failure;
+        });
+
+        assertThatThrownBy(() -> batcher.load(1L)).isSameAs(failure);
+    }
+
+    // region Helpers
+    private record Caller(Thread thread, FutureTask<String> task) {
+    }
+
+    private MicroBatcher<Long, String> batcher(
+            final Duration window,
+            final int maxBatchSize,
+            final Function<Set<Long>, Map<Long, String>> loader
+    ) {
+        return new MicroBatcher<>("id", window, maxBatchSize, keys -> {
+            batches.add(Set.copyOf(keys));
+            return loader.apply(keys);
+        }, meterRegistry);
+    }
+
+    private Map<Long, String> names(final Set<Long> keys) {
+        return keys.stream().collect(Collectors.toMap(Function.identity(), key -> "bank-" + key));
+    }
+
+    private Caller load(final long key) {
+        var task = new FutureTask<>(() -> batcher.load(key));
+        var thread = new Thread(task, "batcher-caller-" + key);
+        thread.setDaemon(true);
+        thread.start();
+        return new Caller(thread, task);
+    }
+
+    // @note: A caller parks on its future only once its key is in the pending batch, so a parked thread is one
+    //        the next load can share a batch with.
+    private static void awaitParked(final Caller caller) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+
+        while (caller.thread().getState() != Thread.State.WAITING) {
+            assertThat(System.nanoTime()).as("waiting for %s to park", caller.thread().getName()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static <T> T get(final FutureTask<T> task) throws ExecutionException, InterruptedException {
+        try {
+            return task.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new AssertionError("load did not complete", e);
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,163 @@
+package c303.c303_final.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+    //region DEFAULT(S)
+    private static final long TIMEOUT_SECONDS = 5;
+    //endregion
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>("id", meterRegistry);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        var release = new CountDownLatch(1);
+        var loads = new AtomicInteger();
+
+        var leader = executor.submit(() -> singleFlight.execute(1L, key -> {
+            loads.incrementAndGet();
+            await(release);
+            return "bank-" + key;
+        }));
+        awaitCount("executed", 1);
+
+        var waiter = executor.submit(() -> singleFlight.execute(1L, key -> "unexpected"));
+        awaitCount("coalesced", 1);
+        release.countDown();
+
+        assertThat(get(leader)).isEqualTo("bank-1");
+        assertThat(get(waiter)).isEqualTo("bank-1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void loaderExceptionReachesEveryWaiter() throws Exception {
+        var release = new CountDownLatch(1);
+        var failure = new IllegalStateException("lookup failed");
+
+        var leader = executor.submit(() -> singleFlight.execute(1L, key -> {
+            await(release);
+            throw failure;
+        }));
+        awaitCount("executed", 1);
+
+        var waiter = executor.submit(() -> singleFlight.execute(1L, key -> "unexpected"));
+        awaitCount("coalesced", 1);
+        release.countDown();
+
+        assertThatThrownBy(() -> get(leader)).hasCause(failure);
+        assertThatThrownBy(() -> get(waiter)).hasCause(failure);
+    }
+
+    @Test
+    void failedLoadIsNotReused() {
+        assertThatThrownBy(() -> singleFlight.execute(1L, key -> {
+            throw new IllegalStateException("lookup failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.execute(1L, key -> "bank-" + key)).isEqualTo("bank-1");
+    }
+
+    @Test
+    void forgetDuringLoadStartsANewLoadForLaterCallers() throws Exception {
+        var release = new CountDownLatch(1);
+
+        var leader = executor.submit(() -> singleFlight.execute(1L, key -> {
+            await(release);
+            return "stale";
+        }));
+        awaitCount("executed", 1);
+
+        var waiter = executor.submit(() -> singleFlight.execute(1L, key -> "unexpected"));
+        awaitCount("coalesced", 1);
+
+        singleFlight.forget(1L);
+
+        assertThat(singleFlight.execute(1L, key -> "fresh")).isEqualTo("fresh");
+
+        release.countDown();
+
+        assertThat(get(leader)).isEqualTo("stale");
+        assertThat(get(waiter)).isEqualTo("stale");
+    }
+
+    @Test
+    void forgottenLoadCompletingDoesNotDropTheNewOne() throws Exception {
+        var releaseStale = new CountDownLatch(1);
+        var releaseFresh = new CountDownLatch(1);
+
+        var stale = executor.submit(() -> singleFlight.execute(1L, key -> {
+            await(releaseStale);
+            return "stale";
+        }));
+        awaitCount("executed", 1);
+
+        singleFlight.forget(1L);
+
+        var fresh = executor.submit(() -> singleFlight.execute(1L, key -> {
+            await(releaseFresh);
+            return "fresh";
+        }));
+        awaitCount("executed", 2);
+
+        releaseStale.countDown();
+        assertThat(get(stale)).isEqualTo("stale");
+
+        var waiter = executor.submit(() -> singleFlight.execute(1L, key -> "unexpected"));
+        awaitCount("coalesced", 1);
+        releaseFresh.countDown();
+
+        assertThat(get(fresh)).isEqualTo("fresh");
+        assertThat(get(waiter)).isEqualTo("fresh");
+    }
+
+    // region Helpers
+    private void awaitCount(final String outcome, final double expected) throws InterruptedException {
+        var counter = meterRegistry.counter("bank.reads.coalescing", "lookup", "id", "outcome", outcome);
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+
+        while (counter.count() < expected) {
+            assertThat(System.nanoTime()).as("waiting for %s to reach %s", outcome, expected).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertThat(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> T get(final Future<T> future) throws ExecutionException, InterruptedException {
+        try {
+            return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new AssertionError("load did not complete", e);
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS bank (
+    bank_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    bank_name VARCHAR(255) NOT NULL,
+    bank_year TIMESTAMP(6) NOT NULL,
+    bank_address VARCHAR(255) NOT NULL,
+    bank_atms INT NOT NULL,
+    bank_branches INT NOT NULL,
+    bank_employees INT NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6),
+    modified_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)
+);